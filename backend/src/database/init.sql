@@ -16,6 +16,9 @@ CREATE TABLE IF NOT EXISTS users (
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
 
+-- Embedded in JWTs; bumped on ban/delete to revoke outstanding tokens (TokenVersionRegistry)
+ALTER TABLE users ADD COLUMN IF NOT EXISTS token_version INTEGER NOT NULL DEFAULT 0;
+
 -- Add hidden column to posts table
 ALTER TABLE posts ADD COLUMN is_hidden BOOLEAN DEFAULT FALSE;
 
@@ -35,6 +38,29 @@ CREATE TABLE IF NOT EXISTS posts (
     user_id INTEGER REFERENCES users(id) ON DELETE CASCADE
 );
 
+-- Denormalized counters, maintained by the application (PostCounterService)
+ALTER TABLE posts ADD COLUMN IF NOT EXISTS like_count BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE posts ADD COLUMN IF NOT EXISTS comment_count BIGINT NOT NULL DEFAULT 0;
+-- Existing posts get their counts from likes and comments once, automatically before Hibernate
+-- starts, by src/main/resources/db/post-counters.sql
+
+-- Keyset pagination indexes for post listings (createdAt, id)
+CREATE INDEX IF NOT EXISTS idx_posts_created_at_id ON posts (created_at, id);
+CREATE INDEX IF NOT EXISTS idx_posts_author_created_at_id ON posts (user_id, created_at, id);
+
+-- Post media (url, type, public id) in one ordered table, replacing the three parallel
+-- post_media_urls / post_media_types / post_cloudinary_ids collections
+CREATE TABLE IF NOT EXISTS post_media (
+    post_id BIGINT NOT NULL REFERENCES posts(id) ON DELETE CASCADE,
+    position INTEGER NOT NULL,
+    url VARCHAR(500) NOT NULL,
+    type VARCHAR(50),
+    public_id VARCHAR(255),
+    PRIMARY KEY (post_id, position)
+);
+-- The old collection tables are copied into post_media and dropped automatically before
+-- Hibernate starts, by src/main/resources/db/post-media.sql
+
 CREATE TABLE IF NOT EXISTS comments (
     id SERIAL PRIMARY KEY,
     content TEXT NOT NULL,
@@ -43,6 +69,9 @@ CREATE TABLE IF NOT EXISTS comments (
     post_id INTEGER REFERENCES posts(id) ON DELETE CASCADE
 );
 
+-- Keyset pages of a post's comments (createdAt, id)
+CREATE INDEX IF NOT EXISTS idx_comments_post_created_id ON comments (post_id, created_at, id);
+
 CREATE TABLE IF NOT EXISTS likes (
     id SERIAL PRIMARY KEY,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
@@ -57,6 +86,39 @@ CREATE TABLE IF NOT EXISTS user_subscriptions (
     PRIMARY KEY (subscriber_id, subscribed_to_id)
 );
 
+-- Keyset pages of followers / following, newest follow first (createdAt, id)
+ALTER TABLE user_subscriptions ADD COLUMN IF NOT EXISTS id BIGSERIAL;
+ALTER TABLE user_subscriptions ADD COLUMN IF NOT EXISTS created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP;
+CREATE INDEX IF NOT EXISTS idx_user_subscriptions_to_created_id ON user_subscriptions (subscribed_to_id, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_user_subscriptions_from_created_id ON user_subscriptions (subscriber_id, created_at, id);
+
+-- The legacy follows table is merged into user_subscriptions and dropped automatically before
+-- Hibernate starts, by src/main/resources/db/legacy-follows.sql
+
+-- Materialized home timeline (one row per follower per post)
+CREATE TABLE IF NOT EXISTS home_timeline (
+    user_id BIGINT NOT NULL,
+    post_id BIGINT NOT NULL,
+    author_id BIGINT NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (user_id, post_id)
+);
+CREATE INDEX IF NOT EXISTS idx_home_timeline_user_created_post ON home_timeline (user_id, created_at, post_id);
+CREATE INDEX IF NOT EXISTS idx_home_timeline_post ON home_timeline (post_id);
+CREATE INDEX IF NOT EXISTS idx_home_timeline_user_author ON home_timeline (user_id, author_id);
+
+-- Timelines already built; the rest are rebuilt on first read (HomeTimelineState)
+CREATE TABLE IF NOT EXISTS home_timeline_state (
+    user_id BIGINT PRIMARY KEY,
+    built_at TIMESTAMP NOT NULL
+);
+
+-- Deleted users whose tokens may still be unexpired (DeletedUser, TokenVersionRegistry)
+CREATE TABLE IF NOT EXISTS deleted_users (
+    user_id BIGINT PRIMARY KEY,
+    deleted_at TIMESTAMP NOT NULL
+);
+
 CREATE TABLE IF NOT EXISTS reports (
     id SERIAL PRIMARY KEY,
     reason TEXT NOT NULL,
@@ -73,4 +135,14 @@ CREATE TABLE IF NOT EXISTS notifications (
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     user_id INTEGER REFERENCES users(id) ON DELETE CASCADE,
     related_post_id INTEGER REFERENCES posts(id) ON DELETE CASCADE
-);
\ No newline at end of file
+);
+
+-- Notification listings: unread badge/list and keyset pages over all notifications
+CREATE INDEX IF NOT EXISTS idx_notifications_user_read_created ON notifications (user_id, is_read, created_at);
+CREATE INDEX IF NOT EXISTS idx_notifications_user_created_id ON notifications (user_id, created_at, id);
+
+-- Retention scan over read notifications (see NotificationRetentionService)
+CREATE INDEX IF NOT EXISTS idx_notifications_read_created ON notifications (created_at, id) WHERE is_read = TRUE;
+
+-- Prod profile: pooled id sequences (INCREMENT BY 50), applied automatically before Hibernate
+-- starts by src/main/resources/db/pooled-id-sequences.sql
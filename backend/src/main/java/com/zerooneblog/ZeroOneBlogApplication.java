@@ -3,8 +3,10 @@ package com.zerooneblog;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class ZeroOneBlogApplication {
     public static void main(String[] args) {
         SpringApplication.run(ZeroOneBlogApplication.class, args);
@@ -0,0 +1,19 @@
+// backend/src/main/java/com/zerooneblog/config/BatchPool.java
+package com.zerooneblog.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs the annotated method, or every method of the annotated class, on the bounded batch
+ * connection pool, so admin bulk operations and background jobs cannot starve interactive
+ * requests of connections. Only calls through the Spring proxy are routed.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.TYPE, ElementType.METHOD })
+public @interface BatchPool {
+}
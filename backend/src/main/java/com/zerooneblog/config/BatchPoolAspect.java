@@ -0,0 +1,32 @@
+// backend/src/main/java/com/zerooneblog/config/BatchPoolAspect.java
+package com.zerooneblog.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.zerooneblog.config.PoolRoutingDataSource.Pool;
+
+/**
+ * Routes {@link BatchPool} methods to the batch pool. Ordered ahead of the transaction
+ * interceptor, so a transaction started by the method already gets its connection there.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class BatchPoolAspect {
+
+    @Around("@within(com.zerooneblog.config.BatchPool) || @annotation(com.zerooneblog.config.BatchPool)")
+    public Object onBatchPool(ProceedingJoinPoint joinPoint) throws Throwable {
+        Pool previous = PoolRoutingDataSource.currentPool();
+        PoolRoutingDataSource.setCurrentPool(Pool.BATCH);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            PoolRoutingDataSource.setCurrentPool(previous);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+// backend/src/main/java/com/zerooneblog/config/DataSourceConfig.java
+package com.zerooneblog.config;
+
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zerooneblog.config.PoolRoutingDataSource.Pool;
+
+/**
+ * Two Hikari pools over the same database: "interactive" for request traffic and a small,
+ * bounded "batch" pool for admin bulk operations and background jobs. Both start from the
+ * spring.datasource.* settings, then apply datasource.pools.interactive.* or
+ * datasource.pools.batch.* (any Hikari property, e.g. maximum-pool-size).
+ *
+ * Both pools are beans, so Micrometer publishes hikaricp.connections.* (acquire wait time,
+ * active, pending, timeouts) tagged with pool=interactive or pool=batch.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(DataSourceConfig.class);
+
+    @Autowired
+    private Environment environment;
+
+    @Bean
+    public HikariDataSource interactiveDataSource(DataSourceProperties properties) {
+        return createPool(properties, "interactive");
+    }
+
+    @Bean
+    public HikariDataSource batchDataSource(DataSourceProperties properties) {
+        return createPool(properties, "batch");
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(DataSourceProperties properties) {
+        HikariDataSource interactive = interactiveDataSource(properties);
+        HikariDataSource batch = batchDataSource(properties);
+
+        PoolRoutingDataSource routing = new PoolRoutingDataSource();
+        routing.setTargetDataSources(Map.of(Pool.INTERACTIVE, interactive, Pool.BATCH, batch));
+        routing.setDefaultTargetDataSource(interactive);
+        logger.info("🗄️ Connection pools: interactive (max {}), batch (max {})",
+            interactive.getMaximumPoolSize(), batch.getMaximumPoolSize());
+        return routing;
+    }
+
+    private HikariDataSource createPool(DataSourceProperties properties, String name) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder binder = Binder.get(environment);
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setPoolName(name);
+        binder.bind("datasource.pools." + name, Bindable.ofInstance(pool));
+        return pool;
+    }
+}
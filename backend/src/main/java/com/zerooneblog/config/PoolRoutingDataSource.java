@@ -0,0 +1,52 @@
+// backend/src/main/java/com/zerooneblog/config/PoolRoutingDataSource.java
+package com.zerooneblog.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * Hands out connections from the interactive pool unless the current thread was routed to
+ * the batch pool, see {@link BatchPool}.
+ *
+ * The pool is picked when a connection is first acquired: a transaction, or a request's
+ * open session, keeps the connection it started with until it ends.
+ */
+public class PoolRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Pool { INTERACTIVE, BATCH }
+
+    private static final ThreadLocal<Pool> CURRENT = new ThreadLocal<>();
+
+    public static Pool currentPool() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Route the current thread's next connections to the pool; null restores the default
+     */
+    public static void setCurrentPool(Pool pool) {
+        if (pool != null) {
+            CURRENT.set(pool);
+        } else {
+            CURRENT.remove();
+        }
+    }
+
+    /**
+     * Run the action with connections from the given pool, restoring the previous choice afterwards
+     */
+    public static void runOn(Pool pool, Runnable action) {
+        Pool previous = currentPool();
+        setCurrentPool(pool);
+        try {
+            action.run();
+        } finally {
+            setCurrentPool(previous);
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Pool pool = CURRENT.get();
+        return pool != null ? pool : Pool.INTERACTIVE;
+    }
+}
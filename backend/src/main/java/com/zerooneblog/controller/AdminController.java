@@ -15,6 +15,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.zerooneblog.config.BatchPool;
 import com.zerooneblog.dto.PostResponse;
 import com.zerooneblog.dto.UserDto;
 import com.zerooneblog.model.Post;
@@ -25,6 +26,7 @@ import com.zerooneblog.service.ReportService;
 import com.zerooneblog.service.UserService;
 
 @RestController
+@BatchPool
 @RequestMapping("/api/admin")
 @PreAuthorize("hasRole('ADMIN')")
 public class AdminController {
@@ -114,9 +116,7 @@ public class AdminController {
             System.out.println("📦 Found " + posts.size() + " posts");
             
             // Convert to PostResponse DTOs to avoid circular reference issues
-            List<PostResponse> postResponses = posts.stream()
-                    .map(post -> postService.convertToPostResponse(post, currentUser))
-                    .collect(Collectors.toList());
+            List<PostResponse> postResponses = postService.convertToPostResponses(posts, currentUser);
             
             System.out.println("✅ Returning " + postResponses.size() + " post responses");
             return ResponseEntity.ok(postResponses);
@@ -3,13 +3,18 @@ package com.zerooneblog.controller;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -23,9 +28,12 @@ import com.zerooneblog.dto.SignupRequest;
 import com.zerooneblog.model.User;
 import com.zerooneblog.repository.UserRepository;
 import com.zerooneblog.security.JwtUtils;
+import com.zerooneblog.security.LoginConcurrencyLimiter;
+import com.zerooneblog.security.PasswordHashingExecutor;
 import com.zerooneblog.security.UserPrincipal;
 import com.zerooneblog.service.UserService;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 
 @CrossOrigin(origins = "*", maxAge = 3600)
@@ -47,12 +55,23 @@ public class AuthController {
     @Autowired
     UserService userService;
 
+    @Autowired
+    PasswordHashingExecutor passwordHashingExecutor;
+
+    @Autowired
+    LoginConcurrencyLimiter loginConcurrencyLimiter;
+
+    // Credential checks run on the hashing pool; the request thread is released while they wait
     @PostMapping("/signin")
-    public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
+    public CompletableFuture<ResponseEntity<?>> authenticateUser(@Valid @RequestBody LoginRequest loginRequest,
+                                                                 HttpServletRequest request) {
+        return withPasswordHashing(loginRequest.getUsername(), request, () -> signIn(loginRequest));
+    }
+
+    private ResponseEntity<?> signIn(LoginRequest loginRequest) {
         Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(loginRequest.getUsername(), loginRequest.getPassword()));
 
-        SecurityContextHolder.getContext().setAuthentication(authentication);
         String jwt = jwtUtils.generateJwtToken(authentication);
         
         UserPrincipal userDetails = (UserPrincipal) authentication.getPrincipal();        
@@ -66,15 +85,20 @@ public class AuthController {
     }
 
     @PostMapping("/signup")
-    public ResponseEntity<?> registerUser(@Valid @RequestBody SignupRequest signUpRequest) {
+    public CompletableFuture<ResponseEntity<?>> registerUser(@Valid @RequestBody SignupRequest signUpRequest,
+                                                             HttpServletRequest request) {
         if (userService.existsByUsername(signUpRequest.getUsername())) {
-            return ResponseEntity.badRequest().body("Error: Username is already taken!");
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body("Error: Username is already taken!"));
         }
 
         if (userService.existsByEmail(signUpRequest.getEmail())) {
-            return ResponseEntity.badRequest().body("Error: Email is already in use!");
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body("Error: Email is already in use!"));
         }
 
+        return withPasswordHashing(signUpRequest.getUsername(), request, () -> signUp(signUpRequest));
+    }
+
+    private ResponseEntity<?> signUp(SignupRequest signUpRequest) {
         // Create new user's account
         User user = new User(signUpRequest.getUsername(), 
                              signUpRequest.getEmail(),
@@ -90,4 +114,45 @@ public class AuthController {
         
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * Run a password check or hash on the hashing pool, shedding load before the CPU is pinned:
+     * 429 when the username or IP already has attempts in flight, 503 when the pool is saturated.
+     * Authentication failures propagate unchanged and still reach the 401 entry point.
+     */
+    private CompletableFuture<ResponseEntity<?>> withPasswordHashing(String username, HttpServletRequest request,
+                                                                     Supplier<ResponseEntity<?>> work) {
+        String ip = request.getRemoteAddr();
+        if (!loginConcurrencyLimiter.tryAcquire(username, ip)) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body("Error: Too many concurrent attempts, please retry shortly"));
+        }
+
+        CompletableFuture<ResponseEntity<?>> result;
+        try {
+            result = passwordHashingExecutor.submit(work);
+        } catch (RejectedExecutionException e) {
+            loginConcurrencyLimiter.release(username, ip);
+            return CompletableFuture.completedFuture(serverBusy());
+        }
+
+        return result.handle((response, error) -> {
+            loginConcurrencyLimiter.release(username, ip);
+            if (error == null) {
+                return response;
+            }
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            if (cause instanceof RejectedExecutionException) {
+                return serverBusy();
+            }
+            throw error instanceof CompletionException ? (CompletionException) error : new CompletionException(error);
+        });
+    }
+
+    private static ResponseEntity<?> serverBusy() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body("Error: Server is busy, please retry shortly");
+    }
 }
\ No newline at end of file
@@ -3,9 +3,9 @@ package com.zerooneblog.controller;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -16,12 +16,15 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.zerooneblog.dto.CommentRequest;
 import com.zerooneblog.dto.CommentResponse;
+import com.zerooneblog.dto.CursorPage;
+import com.zerooneblog.dto.PageCursor;
+import com.zerooneblog.dto.SerializedComment;
 import com.zerooneblog.model.Comment;
-import com.zerooneblog.model.Post;
 import com.zerooneblog.model.User;
 import com.zerooneblog.security.CommentSecurity;
 import com.zerooneblog.service.CommentService;
@@ -45,17 +48,35 @@ public class CommentController {
     @Autowired
     private CommentSecurity commentSecurity;
 
+    // List size used when the post's comments are requested without cursor or limit
+    @Value("${comments.legacy-page-size:200}")
+    private int legacyPageSize;
+
+    /**
+     * Pass cursor and/or limit to get a keyset-paginated CursorPage; without them the newest
+     * comments.legacy-page-size comments are returned as a plain list
+     */
     @GetMapping("/post/{postId}")
-    public ResponseEntity<List<CommentResponse>> getCommentsByPost(@PathVariable Long postId) {
-        return postService.getPostById(postId)
-            .map(post -> {
-                List<Comment> comments = commentService.getCommentsByPost(post);
-                List<CommentResponse> responses = comments.stream()
-                    .map(this::convertToCommentResponse)
-                    .collect(Collectors.toList());
-                return ResponseEntity.ok(responses);
-            })
-            .orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<?> getCommentsByPost(@PathVariable Long postId,
+                                               @RequestParam(required = false) String cursor,
+                                               @RequestParam(required = false) Integer limit) {
+        try {
+            if (cursor != null || limit != null) {
+                int pageSize = CursorPage.clampLimit(limit);
+                List<SerializedComment> rows = commentService.getCommentsPage(postId, PageCursor.decode(cursor), pageSize);
+                return ResponseEntity.ok(CursorPage.of(rows, pageSize, CommentService::cursorOf, page -> page));
+            }
+
+            List<SerializedComment> comments = commentService.getCommentsPage(postId, PageCursor.start(), legacyPageSize);
+            if (comments.size() > legacyPageSize) {
+                comments = comments.subList(0, legacyPageSize);
+            }
+            return ResponseEntity.ok(comments);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
     }
 
     @PostMapping("/post/{postId}")
@@ -1,10 +1,14 @@
 // Fixed FollowController.java - Remove notification call
 package com.zerooneblog.controller;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -12,9 +16,13 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.zerooneblog.dto.CursorPage;
 import com.zerooneblog.dto.FollowResponse;
+import com.zerooneblog.dto.FollowUserResponse;
+import com.zerooneblog.dto.PageCursor;
 import com.zerooneblog.model.User;
 import com.zerooneblog.service.FollowService;
 import com.zerooneblog.service.UserService;
@@ -32,6 +40,10 @@ public class FollowController {
 
     // Removed NotificationService injection - we only notify on posts now
 
+    // List size used when the follower/following endpoints are called without cursor or limit
+    @Value("${follows.legacy-page-size:200}")
+    private int legacyPageSize;
+
     @PostMapping("/follow/{userId}")
     public ResponseEntity<?> followUser(@PathVariable Long userId) {
         try {
@@ -63,24 +75,25 @@ public class FollowController {
         }
     }
 
+    /**
+     * Pass cursor and/or limit to get a keyset-paginated CursorPage of followers (id, username,
+     * profilePicture); without them the follows.legacy-page-size most recent follows are returned as a plain list
+     */
     @GetMapping("/followers/{userId}")
-    public ResponseEntity<List<FollowResponse>> getFollowers(@PathVariable Long userId) {
-        try {
-            List<FollowResponse> followers = followService.getFollowers(userId);
-            return ResponseEntity.ok(followers);
-        } catch (RuntimeException e) {
-            return ResponseEntity.notFound().build();
-        }
+    public ResponseEntity<?> getFollowers(@PathVariable Long userId,
+                                          @RequestParam(required = false) String cursor,
+                                          @RequestParam(required = false) Integer limit) {
+        return listFollows(userId, true, cursor, limit);
     }
 
+    /**
+     * Same paging contract as GET /followers/{userId}, for the users the user follows
+     */
     @GetMapping("/following/{userId}")
-    public ResponseEntity<List<FollowResponse>> getFollowing(@PathVariable Long userId) {
-        try {
-            List<FollowResponse> following = followService.getFollowing(userId);
-            return ResponseEntity.ok(following);
-        } catch (RuntimeException e) {
-            return ResponseEntity.notFound().build();
-        }
+    public ResponseEntity<?> getFollowing(@PathVariable Long userId,
+                                          @RequestParam(required = false) String cursor,
+                                          @RequestParam(required = false) Integer limit) {
+        return listFollows(userId, false, cursor, limit);
     }
 
     @GetMapping("/followers/count/{userId}")
@@ -103,15 +116,57 @@ public class FollowController {
         }
     }
 
+    // Counts for a batch of users (profile cards, lists), served from the follow graph
+    @GetMapping("/counts")
+    public ResponseEntity<?> getFollowCounts(@RequestParam List<Long> userIds) {
+        if (userIds.size() > FollowService.MAX_BATCH_SIZE) {
+            return ResponseEntity.badRequest().body("Error: At most " + FollowService.MAX_BATCH_SIZE + " user ids per request");
+        }
+        return ResponseEntity.ok(followService.getFollowCounts(userIds));
+    }
+
+    // Batch form of /is-following/{userId}: user id -> whether the current user follows them
+    @GetMapping("/is-following")
+    public ResponseEntity<?> isFollowingAny(@RequestParam List<Long> userIds) {
+        if (userIds.size() > FollowService.MAX_BATCH_SIZE) {
+            return ResponseEntity.badRequest().body("Error: At most " + FollowService.MAX_BATCH_SIZE + " user ids per request");
+        }
+        Set<Long> followed = followService.getFollowedAmong(userService.getCurrentUserId(), userIds);
+        Map<Long, Boolean> result = new LinkedHashMap<>();
+        for (Long userId : userIds) {
+            result.put(userId, followed.contains(userId));
+        }
+        return ResponseEntity.ok(result);
+    }
+
     @GetMapping("/is-following/{userId}")
     public ResponseEntity<Boolean> isFollowing(@PathVariable Long userId) {
         try {
-            User currentUser = userService.getCurrentUser();
-            boolean isFollowing = followService.isFollowing(currentUser.getId(), userId);
+            boolean isFollowing = followService.isFollowing(userService.getCurrentUserId(), userId);
             return ResponseEntity.ok(isFollowing);
         } catch (Exception e) {
             return ResponseEntity.ok(false);
         }
     }
+
+    private ResponseEntity<?> listFollows(Long userId, boolean followers, String cursor, Integer limit) {
+        try {
+            if (cursor != null || limit != null) {
+                int pageSize = CursorPage.clampLimit(limit);
+                List<FollowUserResponse> rows = followService.getFollowPage(
+                    userId, followers, userService.getCurrentUserId(), PageCursor.decode(cursor), pageSize);
+                return ResponseEntity.ok(CursorPage.of(rows, pageSize, FollowService::cursorOf, page -> page));
+            }
+
+            List<FollowResponse> follows = followers
+                ? followService.getFollowers(userId, legacyPageSize)
+                : followService.getFollowing(userId, legacyPageSize);
+            return ResponseEntity.ok(follows);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
 }
 
@@ -9,7 +9,6 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import com.zerooneblog.model.User;
 import com.zerooneblog.service.LikeService;
 import com.zerooneblog.service.UserService;
 
@@ -27,9 +26,9 @@ public class LikeController {
     // POST /api/posts/{postId}/like - Likes a post
     @PostMapping("/like")
     public ResponseEntity<?> likePost(@PathVariable Long postId) {
-        User currentUser = userService.getCurrentUser();
+        Long currentUserId = userService.getCurrentUserId();
         try {
-            likeService.likePost(postId, currentUser.getId());
+            likeService.likePost(postId, currentUserId);
             return ResponseEntity.ok().build();
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
@@ -39,9 +38,9 @@ public class LikeController {
     // DELETE /api/posts/{postId}/like - Unlikes a post
     @DeleteMapping("/like")
     public ResponseEntity<?> unlikePost(@PathVariable Long postId) {
-        User currentUser = userService.getCurrentUser();
+        Long currentUserId = userService.getCurrentUserId();
         try {
-            likeService.unlikePost(postId, currentUser.getId());
+            likeService.unlikePost(postId, currentUserId);
             return ResponseEntity.ok().build();
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
@@ -2,19 +2,24 @@
 package com.zerooneblog.controller;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.zerooneblog.dto.CursorPage;
 import com.zerooneblog.dto.NotificationResponse;
-import com.zerooneblog.model.Notification;
+import com.zerooneblog.dto.PageCursor;
 import com.zerooneblog.model.User;
 import com.zerooneblog.service.NotificationService;
 import com.zerooneblog.service.UserService;
@@ -30,34 +35,45 @@ public class NotificationController {
     @Autowired
     private UserService userService;
 
+    // Page size used when the list endpoints are called without cursor or limit
+    @Value("${notifications.legacy-page-size:200}")
+    private int legacyPageSize;
+
+    /**
+     * Pass cursor and/or limit to get a keyset-paginated CursorPage; without them the newest
+     * notifications.legacy-page-size notifications are returned as a plain list
+     */
     @GetMapping
-    public ResponseEntity<List<NotificationResponse>> getNotifications() {
-        User currentUser = userService.getCurrentUser();
-        List<Notification> notifications = notificationService.getNotificationsByUser(currentUser);
-        
-        List<NotificationResponse> responses = notifications.stream()
-            .map(this::convertToNotificationResponse)
-            .collect(Collectors.toList());
-            
-        return ResponseEntity.ok(responses);
+    public ResponseEntity<?> getNotifications(@RequestParam(required = false) String cursor,
+                                              @RequestParam(required = false) Integer limit) {
+        return listNotifications(false, cursor, limit);
     }
 
+    /**
+     * Same paging contract as GET /api/notifications, restricted to unread notifications
+     */
     @GetMapping("/unread")
-    public ResponseEntity<List<NotificationResponse>> getUnreadNotifications() {
+    public ResponseEntity<?> getUnreadNotifications(@RequestParam(required = false) String cursor,
+                                                    @RequestParam(required = false) Integer limit) {
+        return listNotifications(true, cursor, limit);
+    }
+
+    /**
+     * Server-Sent Events stream of new notifications. Browsers resend the last received
+     * event id as Last-Event-ID when they reconnect; lastEventId is the query fallback.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamNotifications(
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventIdHeader,
+            @RequestParam(value = "lastEventId", required = false) Long lastEventIdParam) {
         User currentUser = userService.getCurrentUser();
-        List<Notification> notifications = notificationService.getUnreadNotificationsByUser(currentUser);
-        
-        List<NotificationResponse> responses = notifications.stream()
-            .map(this::convertToNotificationResponse)
-            .collect(Collectors.toList());
-            
-        return ResponseEntity.ok(responses);
+        Long lastEventId = lastEventIdHeader != null ? lastEventIdHeader : lastEventIdParam;
+        return notificationService.openStream(currentUser, lastEventId);
     }
 
     @GetMapping("/count")
     public ResponseEntity<Long> getUnreadNotificationCount() {
-        User currentUser = userService.getCurrentUser();
-        Long count = notificationService.getUnreadNotificationCount(currentUser);
+        Long count = notificationService.getUnreadNotificationCount(userService.getCurrentUserId());
         return ResponseEntity.ok(count);
     }
 
@@ -74,26 +90,25 @@ public class NotificationController {
         return ResponseEntity.ok().build();
     }
 
-    private NotificationResponse convertToNotificationResponse(Notification notification) {
-        NotificationResponse response = new NotificationResponse();
-        response.setId(notification.getId());
-        response.setMessage(notification.getMessage());
-        response.setRead(notification.isRead());
-        response.setCreatedAt(notification.getCreatedAt());
-        response.setType(notification.getType().toString().toLowerCase());
-        
-        if (notification.getRelatedPost() != null) {
-            response.setRelatedPostId(notification.getRelatedPost().getId());
+    private ResponseEntity<?> listNotifications(boolean unreadOnly, String cursor, Integer limit) {
+        User currentUser = userService.getCurrentUser();
+
+        if (cursor != null || limit != null) {
+            try {
+                int pageSize = CursorPage.clampLimit(limit);
+                List<NotificationResponse> rows = notificationService.getNotificationsPage(
+                    currentUser, unreadOnly, PageCursor.decode(cursor), pageSize);
+                return ResponseEntity.ok(CursorPage.of(rows, pageSize, NotificationService::cursorOf, page -> page));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(e.getMessage());
+            }
         }
-        
-        if (notification.getFromUser() != null) {
-            NotificationResponse.FromUser fromUser = new NotificationResponse.FromUser();
-            fromUser.setId(notification.getFromUser().getId());
-            fromUser.setUsername(notification.getFromUser().getUsername());
-            fromUser.setProfilePicture(notification.getFromUser().getProfilePicture());
-            response.setFromUser(fromUser);
+
+        List<NotificationResponse> notifications = notificationService.getNotificationsPage(
+            currentUser, unreadOnly, PageCursor.start(), legacyPageSize);
+        if (notifications.size() > legacyPageSize) {
+            notifications = notifications.subList(0, legacyPageSize);
         }
-        
-        return response;
+        return ResponseEntity.ok(notifications);
     }
-}
\ No newline at end of file
+}
@@ -4,11 +4,11 @@ package com.zerooneblog.controller;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -20,13 +20,17 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.zerooneblog.dto.CursorPage;
+import com.zerooneblog.dto.PageCursor;
 import com.zerooneblog.dto.PostRequest;
 import com.zerooneblog.dto.PostResponse;
 import com.zerooneblog.model.Post;
 import com.zerooneblog.model.User;
 import com.zerooneblog.security.PostSecurity;
+import com.zerooneblog.service.HomeTimelineService;
 import com.zerooneblog.service.PostService;
 import com.zerooneblog.service.UserService;
 
@@ -46,27 +50,40 @@ public class PostController {
     @Autowired
     private PostSecurity postSecurity;
 
+    @Autowired
+    private HomeTimelineService homeTimelineService;
+
+    // Page size used when /feed is called without cursor or limit
+    @Value("${feed.legacy-page-size:200}")
+    private int legacyFeedPageSize;
+
     /**
      * Get all posts
-     * ✅ UPDATED: Filters hidden posts for non-admin users
+     * ✅ UPDATED: Hidden posts are filtered in the query for non-admin users
+     * Pass cursor and/or limit to get a keyset-paginated CursorPage instead of the full list
      */
     @GetMapping
-    public ResponseEntity<List<PostResponse>> getAllPosts() {
+    public ResponseEntity<?> getAllPosts(@RequestParam(required = false) String cursor,
+                                         @RequestParam(required = false) Integer limit) {
         User currentUser = userService.getCurrentUser();
         logger.info("🔥 Fetching all posts for user: {}", currentUser.getUsername());
         
-        List<Post> posts = postService.getAllPosts();
+        // ✅ Hidden posts are only visible to admins
+        boolean includeHidden = currentUser.getRole() == User.Role.ROLE_ADMIN;
         
-        // ✅ Filter out hidden posts unless user is admin
-        if (!currentUser.getRole().name().equals("ADMIN")) {
-            posts = posts.stream()
-                    .filter(post -> !post.isHidden())
-                    .collect(Collectors.toList());
+        if (isPaged(cursor, limit)) {
+            try {
+                int pageSize = CursorPage.clampLimit(limit);
+                List<Post> rows = postService.getPostsPage(includeHidden, PageCursor.decode(cursor), pageSize);
+                return ResponseEntity.ok(toPage(rows, pageSize, currentUser));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(e.getMessage());
+            }
         }
         
-        List<PostResponse> responses = posts.stream()
-                .map(post -> postService.convertToPostResponse(post, currentUser))
-                .collect(Collectors.toList());
+        List<Post> posts = postService.getAllPosts(includeHidden);
+        
+        List<PostResponse> responses = postService.convertToPostResponses(posts, currentUser);
         
         logger.info("✅ Returning {} posts", responses.size());
         return ResponseEntity.ok(responses);
@@ -74,35 +91,33 @@ public class PostController {
 
     /**
      * Get feed (posts from followed users + own posts)
-     * ✅ UPDATED: Filters hidden posts
+     * ✅ UPDATED: Served from the materialized home timeline, hidden posts filtered in the query
+     * Pass cursor and/or limit to get a keyset-paginated CursorPage; without them the newest
+     * feed.legacy-page-size posts are returned as a plain list
      */
     @GetMapping("/feed")
-    public ResponseEntity<List<PostResponse>> getFeed() {
+    public ResponseEntity<?> getFeed(@RequestParam(required = false) String cursor,
+                                     @RequestParam(required = false) Integer limit) {
         User currentUser = userService.getCurrentUser();
         logger.info("📰 Fetching feed for user: {}", currentUser.getUsername());
         
-        List<Post> posts;
-        
-        // Get list of followed users
-        List<User> followedUsers = currentUser.getSubscribedTo().stream().collect(Collectors.toList());
-        followedUsers.add(currentUser); // Include current user's own posts
-        
-        if (followedUsers.isEmpty()) {
-            // If not following anyone, show only own posts
-            posts = postService.getPostsByUser(currentUser);
-        } else {
-            // Show posts from followed users + own posts
-            posts = postService.getPostsFromSubscribedUsers(followedUsers);
+        if (isPaged(cursor, limit)) {
+            try {
+                int pageSize = CursorPage.clampLimit(limit);
+                List<Post> rows = homeTimelineService.getFeedPage(currentUser, PageCursor.decode(cursor), pageSize);
+                return ResponseEntity.ok(toPage(rows, pageSize, currentUser));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(e.getMessage());
+            }
         }
         
-        // ✅ Filter out hidden posts
-        posts = posts.stream()
-                .filter(post -> !post.isHidden())
-                .collect(Collectors.toList());
+        // Show posts from followed users + own posts
+        List<Post> posts = homeTimelineService.getFeedPage(currentUser, PageCursor.start(), legacyFeedPageSize);
+        if (posts.size() > legacyFeedPageSize) {
+            posts = posts.subList(0, legacyFeedPageSize);
+        }
         
-        List<PostResponse> responses = posts.stream()
-                .map(post -> postService.convertToPostResponse(post, currentUser))
-                .collect(Collectors.toList());
+        List<PostResponse> responses = postService.convertToPostResponses(posts, currentUser);
         
         logger.info("✅ Returning {} posts in feed", responses.size());
         return ResponseEntity.ok(responses);
@@ -110,10 +125,13 @@ public class PostController {
 
     /**
      * Get posts by a specific user
-     * ✅ UPDATED: Filters hidden posts unless admin or own profile
+     * ✅ UPDATED: Hidden posts are filtered in the query unless admin or own profile
+     * Pass cursor and/or limit to get a keyset-paginated CursorPage instead of the full list
      */
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<PostResponse>> getPostsByUser(@PathVariable Long userId) {
+    public ResponseEntity<?> getPostsByUser(@PathVariable Long userId,
+                                            @RequestParam(required = false) String cursor,
+                                            @RequestParam(required = false) Integer limit) {
         User currentUser = userService.getCurrentUser();
         logger.info("🔥 Fetching posts for user ID: {}", userId);
         
@@ -124,23 +142,45 @@ public class PostController {
             return ResponseEntity.notFound().build();
         }
         
-        List<Post> posts = postService.getPostsByUser(targetUser.get());
+        // ✅ Hidden posts are visible to admins and to the author on their own profile
+        boolean includeHidden = currentUser.getRole() == User.Role.ROLE_ADMIN || currentUser.getId().equals(userId);
         
-        // ✅ Filter out hidden posts unless current user is admin or viewing own profile
-        if (!currentUser.getRole().name().equals("ADMIN") && !currentUser.getId().equals(userId)) {
-            posts = posts.stream()
-                    .filter(post -> !post.isHidden())
-                    .collect(Collectors.toList());
+        if (isPaged(cursor, limit)) {
+            try {
+                int pageSize = CursorPage.clampLimit(limit);
+                List<Post> rows = postService.getPostsByUserPage(
+                    targetUser.get(), includeHidden, PageCursor.decode(cursor), pageSize);
+                return ResponseEntity.ok(toPage(rows, pageSize, currentUser));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(e.getMessage());
+            }
         }
         
-        List<PostResponse> responses = posts.stream()
-                .map(post -> postService.convertToPostResponse(post, currentUser))
-                .collect(Collectors.toList());
+        List<Post> posts = postService.getPostsByUser(targetUser.get(), includeHidden);
+        
+        List<PostResponse> responses = postService.convertToPostResponses(posts, currentUser);
         
         logger.info("✅ Returning {} posts for user {}", responses.size(), targetUser.get().getUsername());
         return ResponseEntity.ok(responses);
     }
 
+    /**
+     * Full-text search over post content, best match first.
+     * Terms match any of them; "quoted phrases" must appear as written. Pages are numbered from 0.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<?> searchPosts(@RequestParam String query,
+                                         @RequestParam(defaultValue = "0") int page,
+                                         @RequestParam(required = false) Integer size) {
+        if (page < 0) {
+            return ResponseEntity.badRequest().body("page must not be negative");
+        }
+        User currentUser = userService.getCurrentUser();
+        logger.info("🔎 Searching posts for user: {}", currentUser.getUsername());
+        
+        return ResponseEntity.ok(postService.searchPosts(query, currentUser, page, CursorPage.clampLimit(size)));
+    }
+
     /**
      * Get a single post by ID
      */
@@ -304,4 +344,13 @@ public class PostController {
                 .body("Error deleting post: " + e.getMessage());
         }
     }
+
+    private boolean isPaged(String cursor, Integer limit) {
+        return cursor != null || limit != null;
+    }
+
+    private CursorPage<PostResponse> toPage(List<Post> rows, int limit, User currentUser) {
+        return CursorPage.of(rows, limit, PostService::cursorOf,
+            page -> postService.convertToPostResponses(page, currentUser));
+    }
 }
\ No newline at end of file
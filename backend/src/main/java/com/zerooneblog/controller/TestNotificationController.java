@@ -16,6 +16,9 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.zerooneblog.dto.CursorPage;
+import com.zerooneblog.dto.NotificationResponse;
+import com.zerooneblog.dto.PageCursor;
 import com.zerooneblog.model.Notification;
 import com.zerooneblog.model.Post;
 import com.zerooneblog.model.User;
@@ -63,8 +66,9 @@ public class TestNotificationController {
             response.put("currentUser", currentUser.getUsername());
             response.put("currentUserId", currentUser.getId());
             
-            // Test getting notifications
-            List<Notification> notifications = notificationService.getNotificationsByUser(currentUser);
+            // Test getting notifications (first page)
+            List<NotificationResponse> notifications = notificationService.getNotificationsPage(
+                currentUser, false, PageCursor.start(), CursorPage.MAX_LIMIT);
             response.put("notificationCount", notifications.size());
             
             // Get unread count
@@ -2,9 +2,11 @@
 package com.zerooneblog.controller;
 
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -15,8 +17,13 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.zerooneblog.dto.CursorPage;
+import com.zerooneblog.dto.FollowCountsResponse;
+import com.zerooneblog.dto.FollowUserResponse;
+import com.zerooneblog.dto.PageCursor;
 import com.zerooneblog.dto.UserResponse;
 import com.zerooneblog.model.User;
+import com.zerooneblog.service.FollowService;
 import com.zerooneblog.service.UserService;
 
 @RestController
@@ -27,24 +34,38 @@ public class UserController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private FollowService followService;
+
+    // List size used when the follower/following endpoints are called without cursor or limit
+    @Value("${follows.legacy-page-size:200}")
+    private int legacyPageSize;
+
+    /**
+     * Username search for typeahead: prefix matches first, at most search.users.max-results users
+     */
     @GetMapping("/search")
-    public ResponseEntity<List<UserResponse>> searchUsers(@RequestParam String query) {
-        List<User> users = userService.searchUsers(query);
-        User currentUser = userService.getCurrentUser();
-        
-        List<UserResponse> responses = users.stream()
-            .map(user -> convertToUserResponse(user, currentUser))
-            .collect(Collectors.toList());
-            
-        return ResponseEntity.ok(responses);
+    public ResponseEntity<List<UserResponse>> searchUsers(@RequestParam String query,
+                                                         @RequestParam(required = false) Integer limit) {
+        List<User> users = userService.searchUsers(query, limit);
+        return ResponseEntity.ok(convertToUserResponses(users));
+    }
+
+    /**
+     * "Who to follow" for the current user: accounts followed by people they follow
+     */
+    @GetMapping("/suggestions")
+    public ResponseEntity<List<UserResponse>> getSuggestions(@RequestParam(defaultValue = "10") int limit) {
+        List<User> users = followService.getSuggestedUsers(userService.getCurrentUserId(), Math.max(1, Math.min(limit, FollowService.MAX_BATCH_SIZE)));
+        return ResponseEntity.ok(convertToUserResponses(users));
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<UserResponse> getUserById(@PathVariable Long id) {
-        User currentUser = userService.getCurrentUser();
+        Long currentUserId = userService.getCurrentUserId();
         
         return userService.getUserById(id)
-            .map(user -> ResponseEntity.ok(convertToUserResponse(user, currentUser)))
+            .map(user -> ResponseEntity.ok(convertToUserResponse(user, followService.isFollowing(currentUserId, user.getId()))))
             .orElse(ResponseEntity.notFound().build());
     }
 
@@ -76,37 +97,65 @@ public class UserController {
             .orElse(ResponseEntity.notFound().build());
     }
 
+    /**
+     * Pass cursor and/or limit to get a keyset-paginated CursorPage of followers (id, username,
+     * profilePicture); without them the follows.legacy-page-size most recent ones are returned as a plain list
+     */
     @GetMapping("/{id}/followers")
-    public ResponseEntity<List<UserResponse>> getFollowers(@PathVariable Long id) {
-        User currentUser = userService.getCurrentUser();
-        
+    public ResponseEntity<?> getFollowers(@PathVariable Long id,
+                                          @RequestParam(required = false) String cursor,
+                                          @RequestParam(required = false) Integer limit) {
+        if (cursor != null || limit != null) {
+            return getFollowPage(id, true, cursor, limit);
+        }
         return userService.getUserById(id)
-            .map(user -> {
-                List<User> followers = userService.getFollowers(user);
-                List<UserResponse> responses = followers.stream()
-                    .map(follower -> convertToUserResponse(follower, currentUser))
-                    .collect(Collectors.toList());
-                return ResponseEntity.ok(responses);
-            })
+            .map(user -> ResponseEntity.ok(convertToUserResponses(userService.getFollowers(user, legacyPageSize))))
             .orElse(ResponseEntity.notFound().build());
     }
 
+    /**
+     * Same paging contract as GET /{id}/followers, for the users the user follows
+     */
     @GetMapping("/{id}/following")
-    public ResponseEntity<List<UserResponse>> getFollowing(@PathVariable Long id) {
-        User currentUser = userService.getCurrentUser();
-        
+    public ResponseEntity<?> getFollowing(@PathVariable Long id,
+                                          @RequestParam(required = false) String cursor,
+                                          @RequestParam(required = false) Integer limit) {
+        if (cursor != null || limit != null) {
+            return getFollowPage(id, false, cursor, limit);
+        }
         return userService.getUserById(id)
-            .map(user -> {
-                List<User> following = userService.getFollowing(user);
-                List<UserResponse> responses = following.stream()
-                    .map(followedUser -> convertToUserResponse(followedUser, currentUser))
-                    .collect(Collectors.toList());
-                return ResponseEntity.ok(responses);
-            })
+            .map(user -> ResponseEntity.ok(convertToUserResponses(userService.getFollowing(user, legacyPageSize))))
             .orElse(ResponseEntity.notFound().build());
     }
 
-    private UserResponse convertToUserResponse(User user, User currentUser) {
+    private ResponseEntity<?> getFollowPage(Long id, boolean followers, String cursor, Integer limit) {
+        try {
+            int pageSize = CursorPage.clampLimit(limit);
+            List<FollowUserResponse> rows = followService.getFollowPage(
+                id, followers, userService.getCurrentUserId(), PageCursor.decode(cursor), pageSize);
+            return ResponseEntity.ok(CursorPage.of(rows, pageSize, FollowService::cursorOf, page -> page));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * Counts and the followed flag come from the follow graph, so a list costs no queries beyond loading the users
+     */
+    private List<UserResponse> convertToUserResponses(List<User> users) {
+        Set<Long> followed = followService.getFollowedAmong(
+            userService.getCurrentUserId(),
+            users.stream().map(User::getId).collect(Collectors.toList()));
+
+        return users.stream()
+            .map(user -> convertToUserResponse(user, followed.contains(user.getId())))
+            .collect(Collectors.toList());
+    }
+
+    private UserResponse convertToUserResponse(User user, boolean followedByCurrentUser) {
+        FollowCountsResponse counts = followService.getFollowCounts(user.getId());
         UserResponse response = new UserResponse();
         response.setId(user.getId());
         response.setUsername(user.getUsername());
@@ -114,11 +163,9 @@ public class UserController {
         response.setBio(user.getBio());
         response.setProfilePicture(user.getProfilePicture());
         response.setCreatedAt(user.getCreatedAt());
-        response.setFollowerCount((long) user.getSubscribers().size());
-        response.setFollowingCount((long) user.getSubscribedTo().size());
-        response.setIsFollowedByCurrentUser(
-            currentUser.getSubscribedTo().contains(user)
-        );
+        response.setFollowerCount(counts.getFollowerCount());
+        response.setFollowingCount(counts.getFollowingCount());
+        response.setIsFollowedByCurrentUser(followedByCurrentUser);
         return response;
     }
 }
\ No newline at end of file
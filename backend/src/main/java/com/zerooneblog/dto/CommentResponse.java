@@ -14,6 +14,18 @@ public class CommentResponse {
 
     public CommentResponse() {}
 
+    // Used by the comment page projection query
+    public CommentResponse(Long id, String content, LocalDateTime createdAt, Long authorId,
+                           String authorUsername, String authorProfilePicture, Long postId) {
+        this.id = id;
+        this.content = content;
+        this.createdAt = createdAt;
+        this.authorId = authorId;
+        this.authorUsername = authorUsername;
+        this.authorProfilePicture = authorProfilePicture;
+        this.postId = postId;
+    }
+
     // Getters and setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -0,0 +1,26 @@
+// backend/src/main/java/com/zerooneblog/dto/FollowCountsResponse.java
+package com.zerooneblog.dto;
+
+public class FollowCountsResponse {
+    private Long userId;
+    private Long followerCount;
+    private Long followingCount;
+
+    public FollowCountsResponse() {}
+
+    public FollowCountsResponse(Long userId, Long followerCount, Long followingCount) {
+        this.userId = userId;
+        this.followerCount = followerCount;
+        this.followingCount = followingCount;
+    }
+
+    // Getters and setters
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public Long getFollowerCount() { return followerCount; }
+    public void setFollowerCount(Long followerCount) { this.followerCount = followerCount; }
+
+    public Long getFollowingCount() { return followingCount; }
+    public void setFollowingCount(Long followingCount) { this.followingCount = followingCount; }
+}
@@ -0,0 +1,55 @@
+// backend/src/main/java/com/zerooneblog/dto/FollowUserResponse.java
+package com.zerooneblog.dto;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * One row of a paginated follower/following list
+ */
+public class FollowUserResponse {
+    private Long id;
+    private String username;
+    private String profilePicture;
+    private LocalDateTime followedAt;
+    private Boolean isFollowedByCurrentUser;
+
+    // Keyset position of the row (the subscription's id); not part of the API
+    @JsonIgnore
+    private Long subscriptionId;
+
+    public FollowUserResponse() {}
+
+    /**
+     * Constructor projection used by UserSubscriptionRepository, so a page is
+     * one query joining the subscription to the listed user's columns
+     */
+    public FollowUserResponse(Long subscriptionId, LocalDateTime followedAt,
+                              Long id, String username, String profilePicture) {
+        this.subscriptionId = subscriptionId;
+        this.followedAt = followedAt;
+        this.id = id;
+        this.username = username;
+        this.profilePicture = profilePicture;
+    }
+
+    // Getters and setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getUsername() { return username; }
+    public void setUsername(String username) { this.username = username; }
+
+    public String getProfilePicture() { return profilePicture; }
+    public void setProfilePicture(String profilePicture) { this.profilePicture = profilePicture; }
+
+    public LocalDateTime getFollowedAt() { return followedAt; }
+    public void setFollowedAt(LocalDateTime followedAt) { this.followedAt = followedAt; }
+
+    public Boolean getIsFollowedByCurrentUser() { return isFollowedByCurrentUser; }
+    public void setIsFollowedByCurrentUser(Boolean isFollowedByCurrentUser) { this.isFollowedByCurrentUser = isFollowedByCurrentUser; }
+
+    public Long getSubscriptionId() { return subscriptionId; }
+    public void setSubscriptionId(Long subscriptionId) { this.subscriptionId = subscriptionId; }
+}
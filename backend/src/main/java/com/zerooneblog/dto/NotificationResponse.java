@@ -3,6 +3,8 @@ package com.zerooneblog.dto;
 
 import java.time.LocalDateTime;
 
+import com.zerooneblog.model.Notification.NotificationType;
+
 public class NotificationResponse {
     private Long id;
     private String message;
@@ -28,6 +30,29 @@ public class NotificationResponse {
         public void setProfilePicture(String profilePicture) { this.profilePicture = profilePicture; }
     }
 
+    public NotificationResponse() {}
+
+    /**
+     * Constructor projection used by NotificationRepository, so a page is built
+     * from one query with the sender's columns joined in
+     */
+    public NotificationResponse(Long id, String message, boolean isRead, LocalDateTime createdAt,
+                                NotificationType type, Long relatedPostId,
+                                Long fromUserId, String fromUsername, String fromProfilePicture) {
+        this.id = id;
+        this.message = message;
+        this.isRead = isRead;
+        this.createdAt = createdAt;
+        this.type = type != null ? type.toString().toLowerCase() : null;
+        this.relatedPostId = relatedPostId;
+        if (fromUserId != null) {
+            this.fromUser = new FromUser();
+            this.fromUser.setId(fromUserId);
+            this.fromUser.setUsername(fromUsername);
+            this.fromUser.setProfilePicture(fromProfilePicture);
+        }
+    }
+
     // Getters and setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -0,0 +1,66 @@
+// backend/src/main/java/com/zerooneblog/dto/PageCursor.java
+package com.zerooneblog.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor over (createdAt, id), newest first.
+ * A page query returns rows strictly older than the cursor position.
+ */
+public class PageCursor {
+
+    // Sentinel position that sorts after every real row
+    private static final LocalDateTime START_CREATED_AT = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    private final LocalDateTime createdAt;
+    private final Long id;
+
+    public PageCursor(LocalDateTime createdAt, Long id) {
+        this.createdAt = createdAt;
+        this.id = id;
+    }
+
+    /**
+     * Cursor positioned before the newest row (first page)
+     */
+    public static PageCursor start() {
+        return new PageCursor(START_CREATED_AT, Long.MAX_VALUE);
+    }
+
+    public boolean isStart() {
+        return START_CREATED_AT.equals(createdAt) && Long.valueOf(Long.MAX_VALUE).equals(id);
+    }
+
+    /**
+     * Decode a cursor token sent by the client; a missing token means the first page
+     */
+    public static PageCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return start();
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new PageCursor(
+                LocalDateTime.parse(raw.substring(0, separator)),
+                Long.parseLong(raw.substring(separator + 1)));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    public String encode() {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+
+    public Long getId() { return id; }
+}
@@ -0,0 +1,42 @@
+// backend/src/main/java/com/zerooneblog/dto/SearchPage.java
+package com.zerooneblog.dto;
+
+import java.util.List;
+
+/**
+ * One page of ranked search results. Pages are numbered from 0;
+ * totalHits counts the ranked results, which are capped server side.
+ */
+public class SearchPage<T> {
+    private List<T> items;
+    private int page;
+    private int size;
+    private int totalHits;
+    private boolean hasMore;
+
+    public SearchPage() {}
+
+    public SearchPage(List<T> items, int page, int size, int totalHits) {
+        this.items = items;
+        this.page = page;
+        this.size = size;
+        this.totalHits = totalHits;
+        this.hasMore = (long) (page + 1) * size < totalHits;
+    }
+
+    // Getters and setters
+    public List<T> getItems() { return items; }
+    public void setItems(List<T> items) { this.items = items; }
+
+    public int getPage() { return page; }
+    public void setPage(int page) { this.page = page; }
+
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+
+    public int getTotalHits() { return totalHits; }
+    public void setTotalHits(int totalHits) { this.totalHits = totalHits; }
+
+    public boolean isHasMore() { return hasMore; }
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+}
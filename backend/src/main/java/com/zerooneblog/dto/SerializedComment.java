@@ -0,0 +1,36 @@
+// backend/src/main/java/com/zerooneblog/dto/SerializedComment.java
+package com.zerooneblog.dto;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+import com.fasterxml.jackson.databind.util.RawValue;
+
+/**
+ * A CommentResponse already serialized to JSON. Jackson writes the stored JSON as is,
+ * so cached comment pages are not re-serialized on every request.
+ * id and createdAt are kept alongside for paging, authorId for dropping cached
+ * comments whose embedded author fields went stale.
+ */
+public final class SerializedComment {
+    private final Long id;
+    private final LocalDateTime createdAt;
+    private final Long authorId;
+    private final RawValue json;
+
+    public SerializedComment(Long id, LocalDateTime createdAt, Long authorId, String json) {
+        this.id = id;
+        this.createdAt = createdAt;
+        this.authorId = authorId;
+        this.json = new RawValue(json);
+    }
+
+    public Long getId() { return id; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+
+    public Long getAuthorId() { return authorId; }
+
+    @JsonValue
+    public RawValue getJson() { return json; }
+}
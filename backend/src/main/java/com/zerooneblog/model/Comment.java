@@ -3,6 +3,7 @@
 package com.zerooneblog.model;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -10,13 +11,16 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
 
 @Entity
-@Table(name = "comments")
+@Table(name = "comments", indexes = {
+    @Index(name = "idx_comments_post_created_id", columnList = "post_id, createdAt, id")
+})
 public class Comment {
     
     @Id
@@ -39,7 +43,8 @@ public class Comment {
     
     @PrePersist
     protected void onCreate() {
-        createdAt = LocalDateTime.now();
+        // Stored at the database's microsecond precision, so cached copies and cursors match the row
+        createdAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
     }
     
     // Constructors
@@ -0,0 +1,40 @@
+// backend/src/main/java/com/zerooneblog/model/DeletedUser.java
+package com.zerooneblog.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Tombstone of a deleted user, written in the deleting transaction. The user's row is gone,
+ * so this is what lets every instance (and a restarted one) keep rejecting their tokens
+ * until the last of them has expired.
+ */
+@Entity
+@Table(name = "deleted_users")
+public class DeletedUser {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+
+    public DeletedUser() {}
+
+    public DeletedUser(Long userId, LocalDateTime deletedAt) {
+        this.userId = userId;
+        this.deletedAt = deletedAt;
+    }
+
+    // Getters and setters
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public LocalDateTime getDeletedAt() { return deletedAt; }
+    public void setDeletedAt(LocalDateTime deletedAt) { this.deletedAt = deletedAt; }
+}
@@ -0,0 +1,40 @@
+// backend/src/main/java/com/zerooneblog/model/HomeTimelineState.java
+package com.zerooneblog.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Marks a user's materialized home timeline as built.
+ * Timelines without a row are rebuilt on first read, whatever home_timeline already holds
+ * for the user (fan-out can reach a timeline before it was ever read).
+ */
+@Entity
+@Table(name = "home_timeline_state")
+public class HomeTimelineState {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "built_at", nullable = false)
+    private LocalDateTime builtAt;
+
+    public HomeTimelineState() {}
+
+    public HomeTimelineState(Long userId, LocalDateTime builtAt) {
+        this.userId = userId;
+        this.builtAt = builtAt;
+    }
+
+    // Getters and setters
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public LocalDateTime getBuiltAt() { return builtAt; }
+    public void setBuiltAt(LocalDateTime builtAt) { this.builtAt = builtAt; }
+}
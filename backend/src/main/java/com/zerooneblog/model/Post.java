@@ -7,6 +7,8 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
+import org.hibernate.annotations.BatchSize;
+
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.CollectionTable;
 import jakarta.persistence.Column;
@@ -16,6 +18,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
@@ -26,7 +29,10 @@ import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotBlank;
 
 @Entity
-@Table(name = "posts")
+@Table(name = "posts", indexes = {
+    @Index(name = "idx_posts_created_at_id", columnList = "createdAt, id"),
+    @Index(name = "idx_posts_author_created_at_id", columnList = "user_id, createdAt, id")
+})
 public class Post {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -36,29 +42,26 @@ public class Post {
     @Column(columnDefinition = "TEXT")
     private String content;
 
-    // FIXED: Each collection now has its own separate table
-    @ElementCollection(fetch = FetchType.EAGER) // Changed to EAGER to ensure loading
-    @CollectionTable(name = "post_media_urls", joinColumns = @JoinColumn(name = "post_id"))
-    @Column(name = "media_url", length = 500)
-    @OrderColumn(name = "url_order") // Maintains order of URLs
-    private List<String> mediaUrls = new ArrayList<>();
-
-    @ElementCollection(fetch = FetchType.EAGER) // Changed to EAGER
-    @CollectionTable(name = "post_media_types", joinColumns = @JoinColumn(name = "post_id"))
-    @Column(name = "media_type", length = 50)
-    @OrderColumn(name = "type_order") // Maintains order of types
-    private List<String> mediaTypes = new ArrayList<>();
-
-    @ElementCollection(fetch = FetchType.EAGER) // Changed to EAGER
-    @CollectionTable(name = "post_cloudinary_ids", joinColumns = @JoinColumn(name = "post_id"))
-    @Column(name = "cloudinary_public_id", length = 255)
-    @OrderColumn(name = "id_order") // Maintains order of IDs
-    private List<String> cloudinaryPublicIds = new ArrayList<>();
+    // All media of a post in one table, loaded on first access. Touching one post's media
+    // loads it for up to a full page of posts in the session with a single query.
+    @ElementCollection(fetch = FetchType.LAZY)
+    @CollectionTable(name = "post_media", joinColumns = @JoinColumn(name = "post_id"))
+    @OrderColumn(name = "position")
+    @BatchSize(size = 100)
+    private List<PostMedia> media = new ArrayList<>();
 
     // ✅ NEW: Hidden status for admin moderation
     @Column(name = "is_hidden", nullable = false)
     private boolean isHidden = false;
 
+    // Denormalized counters, maintained by PostCounterService with batched SQL updates.
+    // Not updatable through the entity so saving a post never overwrites a newer count.
+    @Column(name = "like_count", nullable = false, updatable = false, columnDefinition = "bigint default 0")
+    private long likeCount = 0;
+
+    @Column(name = "comment_count", nullable = false, updatable = false, columnDefinition = "bigint default 0")
+    private long commentCount = 0;
+
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     
@@ -98,26 +101,28 @@ public class Post {
     public String getContent() { return content; }
     public void setContent(String content) { this.content = content; }
     
-    // Media collections - return empty lists instead of null
-    public List<String> getMediaUrls() { 
-        return mediaUrls != null ? mediaUrls : new ArrayList<>(); 
+    public List<PostMedia> getMedia() { return media; }
+    public void setMedia(List<PostMedia> media) { 
+        this.media = media != null ? media : new ArrayList<>(); 
     }
-    public void setMediaUrls(List<String> mediaUrls) { 
-        this.mediaUrls = mediaUrls != null ? mediaUrls : new ArrayList<>(); 
+
+    // Per-field views of the media, in position order
+    public List<String> getMediaUrls() { 
+        List<String> urls = new ArrayList<>(media.size());
+        for (PostMedia item : media) urls.add(item.getUrl());
+        return urls;
     }
     
     public List<String> getMediaTypes() { 
-        return mediaTypes != null ? mediaTypes : new ArrayList<>(); 
-    }
-    public void setMediaTypes(List<String> mediaTypes) { 
-        this.mediaTypes = mediaTypes != null ? mediaTypes : new ArrayList<>(); 
+        List<String> types = new ArrayList<>(media.size());
+        for (PostMedia item : media) types.add(item.getType());
+        return types;
     }
     
     public List<String> getCloudinaryPublicIds() { 
-        return cloudinaryPublicIds != null ? cloudinaryPublicIds : new ArrayList<>(); 
-    }
-    public void setCloudinaryPublicIds(List<String> cloudinaryPublicIds) { 
-        this.cloudinaryPublicIds = cloudinaryPublicIds != null ? cloudinaryPublicIds : new ArrayList<>(); 
+        List<String> publicIds = new ArrayList<>(media.size());
+        for (PostMedia item : media) publicIds.add(item.getPublicId());
+        return publicIds;
     }
 
     // ✅ NEW: isHidden getter and setter
@@ -128,6 +133,12 @@ public class Post {
         this.isHidden = isHidden; 
     }
     
+    public long getLikeCount() { return likeCount; }
+    public void setLikeCount(long likeCount) { this.likeCount = likeCount; }
+
+    public long getCommentCount() { return commentCount; }
+    public void setCommentCount(long commentCount) { this.commentCount = commentCount; }
+    
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
     
@@ -145,24 +156,15 @@ public class Post {
 
     // Helper methods
     public void addMedia(String url, String type, String publicId) {
-        if (this.mediaUrls == null) this.mediaUrls = new ArrayList<>();
-        if (this.mediaTypes == null) this.mediaTypes = new ArrayList<>();
-        if (this.cloudinaryPublicIds == null) this.cloudinaryPublicIds = new ArrayList<>();
-        
-        this.mediaUrls.add(url);
-        this.mediaTypes.add(type);
-        this.cloudinaryPublicIds.add(publicId);
+        this.media.add(new PostMedia(url, type, publicId));
     }
 
     public void clearMedia() {
-        if (this.mediaUrls != null) this.mediaUrls.clear();
-        if (this.mediaTypes != null) this.mediaTypes.clear();
-        if (this.cloudinaryPublicIds != null) this.cloudinaryPublicIds.clear();
+        this.media.clear();
     }
     
     @Override
     public String toString() {
-        return "Post{id=" + id + ", content='" + content + "', mediaCount=" + 
-               (mediaUrls != null ? mediaUrls.size() : 0) + ", isHidden=" + isHidden + "}";
+        return "Post{id=" + id + ", content='" + content + "', isHidden=" + isHidden + "}";
     }
 }
\ No newline at end of file
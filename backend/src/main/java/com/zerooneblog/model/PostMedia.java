@@ -0,0 +1,40 @@
+// backend/src/main/java/com/zerooneblog/model/PostMedia.java
+package com.zerooneblog.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+/**
+ * One media file attached to a post, stored as a row of post_media.
+ * The row's position within the post is kept by the owning collection's order column.
+ */
+@Embeddable
+public class PostMedia {
+    @Column(name = "url", length = 500, nullable = false)
+    private String url;
+
+    @Column(name = "type", length = 50)
+    private String type;
+
+    @Column(name = "public_id", length = 255)
+    private String publicId;
+
+    // Constructors
+    public PostMedia() {}
+
+    public PostMedia(String url, String type, String publicId) {
+        this.url = url;
+        this.type = type;
+        this.publicId = publicId;
+    }
+
+    // Getters and setters
+    public String getUrl() { return url; }
+    public void setUrl(String url) { this.url = url; }
+
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+
+    public String getPublicId() { return publicId; }
+    public void setPublicId(String publicId) { this.publicId = publicId; }
+}
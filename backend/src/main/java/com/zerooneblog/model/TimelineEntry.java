@@ -0,0 +1,94 @@
+// backend/src/main/java/com/zerooneblog/model/TimelineEntry.java
+package com.zerooneblog.model;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * One row of a user's materialized home timeline.
+ * Written when a followed author posts (fan-out-on-write), read by /api/posts/feed.
+ * createdAt is copied from the post so pages can be read from the index alone.
+ */
+@Entity
+@Table(name = "home_timeline", indexes = {
+    @Index(name = "idx_home_timeline_user_created_post", columnList = "user_id, created_at, post_id"),
+    @Index(name = "idx_home_timeline_post", columnList = "post_id"),
+    @Index(name = "idx_home_timeline_user_author", columnList = "user_id, author_id")
+})
+@IdClass(TimelineEntry.Key.class)
+public class TimelineEntry {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId; // The timeline owner
+
+    @Id
+    @Column(name = "post_id")
+    private Long postId;
+
+    @Column(name = "author_id", nullable = false)
+    private Long authorId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    public TimelineEntry() {}
+
+    public TimelineEntry(Long userId, Long postId, Long authorId, LocalDateTime createdAt) {
+        this.userId = userId;
+        this.postId = postId;
+        this.authorId = authorId;
+        this.createdAt = createdAt;
+    }
+
+    // Getters and setters
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public Long getPostId() { return postId; }
+    public void setPostId(Long postId) { this.postId = postId; }
+
+    public Long getAuthorId() { return authorId; }
+    public void setAuthorId(Long authorId) { this.authorId = authorId; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    /**
+     * Composite primary key (user_id, post_id)
+     */
+    public static class Key implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private Long userId;
+        private Long postId;
+
+        public Key() {}
+
+        public Key(Long userId, Long postId) {
+            this.userId = userId;
+            this.postId = postId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key key = (Key) o;
+            return Objects.equals(userId, key.userId) && Objects.equals(postId, key.postId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(userId, postId);
+        }
+    }
+}
@@ -66,6 +66,12 @@ public class User implements UserDetails {
     
     private boolean isBlocked = false;
     
+    // Embedded in issued JWTs; bumped by UserService (ban, delete) to revoke every outstanding token.
+    // Not updatable through the entity so saving a stale user never rolls a revocation back.
+    @JsonIgnore
+    @Column(name = "token_version", nullable = false, updatable = false, columnDefinition = "integer default 0")
+    private int tokenVersion = 0;
+    
     private LocalDateTime createdAt;
     
     // Relationships
@@ -200,6 +206,14 @@ public class User implements UserDetails {
         isBlocked = blocked;
     }
     
+    public int getTokenVersion() {
+        return tokenVersion;
+    }
+    
+    public void setTokenVersion(int tokenVersion) {
+        this.tokenVersion = tokenVersion;
+    }
+    
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -9,6 +9,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
@@ -18,7 +19,11 @@ import jakarta.persistence.UniqueConstraint;
 @Entity
 @Table(
     name = "user_subscriptions",
-    uniqueConstraints = @UniqueConstraint(columnNames = {"subscriber_id", "subscribed_to_id"})
+    uniqueConstraints = @UniqueConstraint(columnNames = {"subscriber_id", "subscribed_to_id"}),
+    indexes = {
+        @Index(name = "idx_user_subscriptions_to_created_id", columnList = "subscribed_to_id, createdAt, id"),
+        @Index(name = "idx_user_subscriptions_from_created_id", columnList = "subscriber_id, createdAt, id")
+    }
 )
 public class UserSubscription {
     
@@ -2,8 +2,10 @@
 
 package com.zerooneblog.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -11,6 +13,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.zerooneblog.dto.CommentResponse;
 import com.zerooneblog.model.Comment;
 import com.zerooneblog.model.Post;
 import com.zerooneblog.model.User;
@@ -18,7 +21,18 @@ import com.zerooneblog.model.User;
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
     
-    List<Comment> findByPostOrderByCreatedAtDesc(Post post);
+    /**
+     * Keyset page of a post's comments, newest first, author columns projected straight into the DTO.
+     * Served by the (post_id, created_at, id) index.
+     */
+    @Query("SELECT new com.zerooneblog.dto.CommentResponse(c.id, c.content, c.createdAt, u.id, u.username, u.profilePicture, c.post.id) " +
+           "FROM Comment c JOIN c.user u WHERE c.post.id = :postId " +
+           "AND (c.createdAt < :createdAt OR (c.createdAt = :createdAt AND c.id < :id)) " +
+           "ORDER BY c.createdAt DESC, c.id DESC")
+    List<CommentResponse> findResponsePage(@Param("postId") Long postId,
+                                           @Param("createdAt") LocalDateTime createdAt,
+                                           @Param("id") Long id,
+                                           Pageable pageable);
     
     List<Comment> findByUser(User user);
     
@@ -0,0 +1,11 @@
+// backend/src/main/java/com/zerooneblog/repository/DeletedUserRepository.java
+package com.zerooneblog.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.zerooneblog.model.DeletedUser;
+
+@Repository
+public interface DeletedUserRepository extends JpaRepository<DeletedUser, Long> {
+}
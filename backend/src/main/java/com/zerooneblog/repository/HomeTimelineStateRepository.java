@@ -0,0 +1,22 @@
+// backend/src/main/java/com/zerooneblog/repository/HomeTimelineStateRepository.java
+package com.zerooneblog.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.zerooneblog.model.HomeTimelineState;
+
+@Repository
+public interface HomeTimelineStateRepository extends JpaRepository<HomeTimelineState, Long> {
+
+    /**
+     * Mark a timeline as built; concurrent first reads may both get here
+     */
+    @Modifying
+    @Query(value = "INSERT INTO home_timeline_state (user_id, built_at) VALUES (:userId, CURRENT_TIMESTAMP) " +
+                   "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int markBuilt(@Param("userId") Long userId);
+}
@@ -1,5 +1,6 @@
 package com.zerooneblog.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -37,6 +38,10 @@ public interface LikeRepository extends JpaRepository<Like, Long> {
     // Find like by post ID and user ID
     Optional<Like> findByPostIdAndUserId(Long postId, Long userId);
     
+    // Which of the given posts the user has liked
+    @Query("SELECT l.post.id FROM Like l WHERE l.user.id = :userId AND l.post.id IN :postIds")
+    List<Long> findLikedPostIds(@Param("userId") Long userId, @Param("postIds") Collection<Long> postIds);
+    
     // Delete all likes by a user (for cascade delete)
     @Modifying
     @Transactional
@@ -1,37 +1,82 @@
 // backend/src/main/java/com/zerooneblog/repository/NotificationRepository.java
 package com.zerooneblog.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.zerooneblog.dto.NotificationResponse;
 import com.zerooneblog.model.Notification;
 import com.zerooneblog.model.User;
 
 @Repository
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
     
+    // Projects straight into the API DTO; relatedPost.id is read from the foreign key without a join
+    String RESPONSE_SELECT =
+        "SELECT new com.zerooneblog.dto.NotificationResponse(n.id, n.message, n.isRead, n.createdAt, n.type, " +
+        "n.relatedPost.id, f.id, f.username, f.profilePicture) " +
+        "FROM Notification n LEFT JOIN n.fromUser f ";
+    
     /**
-     * Find all notifications for a user, ordered by creation date (newest first)
+     * Keyset page of a user's notifications, newest first
      */
-    List<Notification> findByUserOrderByCreatedAtDesc(User user);
+    @Query(RESPONSE_SELECT + "WHERE n.user.id = :userId " +
+           "AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id)) " +
+           "ORDER BY n.createdAt DESC, n.id DESC")
+    List<NotificationResponse> findResponsePage(@Param("userId") Long userId,
+                                                @Param("createdAt") LocalDateTime createdAt,
+                                                @Param("id") Long id,
+                                                Pageable pageable);
     
     /**
-     * Find only unread notifications for a user, ordered by creation date
+     * Keyset page of a user's unread notifications, newest first
      */
-    List<Notification> findByUserAndIsReadFalseOrderByCreatedAtDesc(User user);
+    @Query(RESPONSE_SELECT + "WHERE n.user.id = :userId AND n.isRead = false " +
+           "AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id)) " +
+           "ORDER BY n.createdAt DESC, n.id DESC")
+    List<NotificationResponse> findUnreadResponsePage(@Param("userId") Long userId,
+                                                      @Param("createdAt") LocalDateTime createdAt,
+                                                      @Param("id") Long id,
+                                                      Pageable pageable);
     
     /**
-     * Find unread notifications without ordering (for batch operations)
+     * Notifications newer than the given id, oldest first (stream resume via Last-Event-ID)
      */
-    List<Notification> findByUserAndIsReadFalse(User user);
+    @Query(RESPONSE_SELECT + "WHERE n.user.id = :userId AND n.id > :id ORDER BY n.id ASC")
+    List<NotificationResponse> findResponsesAfter(@Param("userId") Long userId,
+                                                  @Param("id") Long id,
+                                                  Pageable pageable);
+    
+    /**
+     * Mark every unread notification of a user as read in one statement
+     */
+    @Modifying
+    @Query("UPDATE Notification n SET n.isRead = true WHERE n.user.id = :userId AND n.isRead = false")
+    int markAllAsReadByUserId(@Param("userId") Long userId);
     
     /**
      * Count unread notifications for a user
      */
     Long countByUserAndIsReadFalse(User user);
     
+    /**
+     * Count unread notifications by user ID (loads the in-memory unread counter)
+     */
+    long countByUserIdAndIsReadFalse(Long userId);
+    
+    /**
+     * Users with unread notifications about a post (their cached counts go stale when it is deleted)
+     */
+    @Query("SELECT DISTINCT n.user.id FROM Notification n WHERE n.relatedPost.id = :postId AND n.isRead = false")
+    List<Long> findUnreadUserIdsByRelatedPostId(@Param("postId") Long postId);
+    
     /**
      * Delete all notifications for a specific user (useful for account deletion)
      */
@@ -1,7 +1,10 @@
 package com.zerooneblog.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -38,4 +41,52 @@ public interface PostRepository extends JpaRepository<Post, Long> {
      * Find posts by multiple authors (for feed), ordered by creation date
      */
     List<Post> findByAuthorInOrderByCreatedAtDesc(List<User> authors);
+
+    /**
+     * Visible (non-hidden) posts only, filtered in the query
+     */
+    List<Post> findByIsHiddenFalseOrderByCreatedAtDesc();
+
+    List<Post> findByAuthorAndIsHiddenFalseOrderByCreatedAtDesc(User author);
+
+    /**
+     * Keyset page over all posts, strictly older than (createdAt, id)
+     */
+    @Query("SELECT p FROM Post p WHERE (:includeHidden = true OR p.isHidden = false) " +
+           "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    List<Post> findPage(@Param("includeHidden") boolean includeHidden,
+                        @Param("createdAt") LocalDateTime createdAt,
+                        @Param("id") Long id,
+                        Pageable pageable);
+
+    /**
+     * Keyset page over a single author's posts
+     */
+    @Query("SELECT p FROM Post p WHERE p.author = :author " +
+           "AND (:includeHidden = true OR p.isHidden = false) " +
+           "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    List<Post> findPageByAuthor(@Param("author") User author,
+                                @Param("includeHidden") boolean includeHidden,
+                                @Param("createdAt") LocalDateTime createdAt,
+                                @Param("id") Long id,
+                                Pageable pageable);
+
+    /**
+     * Keyset page over visible posts from several authors (feed fan-out-on-read)
+     */
+    @Query("SELECT p FROM Post p WHERE p.author.id IN :authorIds AND p.isHidden = false " +
+           "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    List<Post> findVisiblePageByAuthorIdIn(@Param("authorIds") List<Long> authorIds,
+                                         @Param("createdAt") LocalDateTime createdAt,
+                                         @Param("id") Long id,
+                                         Pageable pageable);
+
+    /**
+     * (postId, url, type) rows of the posts' media in one query, in position order
+     */
+    @Query("SELECT p.id, m.url, m.type FROM Post p JOIN p.media m WHERE p.id IN :postIds ORDER BY p.id, INDEX(m)")
+    List<Object[]> findMediaByPostIds(@Param("postIds") Collection<Long> postIds);
 }
\ No newline at end of file
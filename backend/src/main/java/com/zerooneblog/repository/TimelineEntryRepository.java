@@ -0,0 +1,91 @@
+// backend/src/main/java/com/zerooneblog/repository/TimelineEntryRepository.java
+package com.zerooneblog.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.zerooneblog.model.Post;
+import com.zerooneblog.model.TimelineEntry;
+
+@Repository
+public interface TimelineEntryRepository extends JpaRepository<TimelineEntry, TimelineEntry.Key> {
+
+    /**
+     * Append a post to the timelines of all the author's subscribers in one statement
+     */
+    @Modifying
+    @Query(value = "INSERT INTO home_timeline (user_id, post_id, author_id, created_at) " +
+                   "SELECT us.subscriber_id, :postId, :authorId, :createdAt " +
+                   "FROM user_subscriptions us WHERE us.subscribed_to_id = :authorId " +
+                   "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int fanOutToSubscribers(@Param("postId") Long postId,
+                            @Param("authorId") Long authorId,
+                            @Param("createdAt") LocalDateTime createdAt);
+
+    /**
+     * Append a single post to one timeline (author's own timeline)
+     */
+    @Modifying
+    @Query(value = "INSERT INTO home_timeline (user_id, post_id, author_id, created_at) " +
+                   "VALUES (:userId, :postId, :authorId, :createdAt) " +
+                   "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int append(@Param("userId") Long userId,
+               @Param("postId") Long postId,
+               @Param("authorId") Long authorId,
+               @Param("createdAt") LocalDateTime createdAt);
+
+    /**
+     * Copy an author's most recent posts into a follower's timeline (on follow)
+     */
+    @Modifying
+    @Query(value = "INSERT INTO home_timeline (user_id, post_id, author_id, created_at) " +
+                   "SELECT :userId, p.id, p.user_id, p.created_at FROM posts p " +
+                   "WHERE p.user_id = :authorId ORDER BY p.created_at DESC LIMIT :limit " +
+                   "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int backfillFromAuthor(@Param("userId") Long userId,
+                           @Param("authorId") Long authorId,
+                           @Param("limit") int limit);
+
+    /**
+     * Rebuild a timeline from the user's own posts and the posts of everyone they follow
+     */
+    @Modifying
+    @Query(value = "INSERT INTO home_timeline (user_id, post_id, author_id, created_at) " +
+                   "SELECT :userId, p.id, p.user_id, p.created_at FROM posts p " +
+                   "WHERE p.user_id = :userId OR p.user_id IN " +
+                   "(SELECT us.subscribed_to_id FROM user_subscriptions us WHERE us.subscriber_id = :userId) " +
+                   "ORDER BY p.created_at DESC LIMIT :limit " +
+                   "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int rebuild(@Param("userId") Long userId, @Param("limit") int limit);
+
+    /**
+     * Keyset page over a timeline joined to visible posts
+     */
+    @Query("SELECT p FROM TimelineEntry t, Post p WHERE p.id = t.postId AND t.userId = :userId " +
+           "AND p.isHidden = false " +
+           "AND (t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.postId < :id)) " +
+           "ORDER BY t.createdAt DESC, t.postId DESC")
+    List<Post> findPage(@Param("userId") Long userId,
+                        @Param("createdAt") LocalDateTime createdAt,
+                        @Param("id") Long id,
+                        Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM TimelineEntry t WHERE t.userId = :userId AND t.authorId = :authorId")
+    int deleteByUserIdAndAuthorId(@Param("userId") Long userId, @Param("authorId") Long authorId);
+
+    @Modifying
+    @Query("DELETE FROM TimelineEntry t WHERE t.postId = :postId")
+    int deleteByPostId(@Param("postId") Long postId);
+
+    @Modifying
+    @Query("DELETE FROM TimelineEntry t WHERE t.userId = :userId OR t.authorId = :userId")
+    int deleteByUserInvolved(@Param("userId") Long userId);
+}
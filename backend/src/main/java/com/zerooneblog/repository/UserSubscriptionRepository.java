@@ -2,20 +2,65 @@
 
 package com.zerooneblog.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.zerooneblog.dto.FollowUserResponse;
 import com.zerooneblog.model.User;
 import com.zerooneblog.model.UserSubscription;
 
 @Repository
 public interface UserSubscriptionRepository extends JpaRepository<UserSubscription, Long> {
     
+    // Projects the listed user's columns straight into the API DTO, one join per page
+    String FOLLOW_USER_SELECT =
+        "SELECT new com.zerooneblog.dto.FollowUserResponse(us.id, us.createdAt, u.id, u.username, u.profilePicture) " +
+        "FROM UserSubscription us ";
+    
+    // Newest first, strictly after the cursor; served by the (user, created_at, id) indexes on either side
+    String KEYSET_PAGE =
+        "AND (us.createdAt < :createdAt OR (us.createdAt = :createdAt AND us.id < :id)) " +
+        "ORDER BY us.createdAt DESC, us.id DESC";
+    
+    /**
+     * Keyset page of a user's followers, most recent follow first
+     */
+    @Query(FOLLOW_USER_SELECT + "JOIN us.subscriber u WHERE us.subscribedTo.id = :userId " + KEYSET_PAGE)
+    List<FollowUserResponse> findFollowerPage(@Param("userId") Long userId,
+                                              @Param("createdAt") LocalDateTime createdAt,
+                                              @Param("id") Long id,
+                                              Pageable pageable);
+    
+    /**
+     * Keyset page of the users a user follows, most recent follow first
+     */
+    @Query(FOLLOW_USER_SELECT + "JOIN us.subscribedTo u WHERE us.subscriber.id = :userId " + KEYSET_PAGE)
+    List<FollowUserResponse> findFollowingPage(@Param("userId") Long userId,
+                                               @Param("createdAt") LocalDateTime createdAt,
+                                               @Param("id") Long id,
+                                               Pageable pageable);
+    
+    /**
+     * Most recent subscriptions to a user with both users fetched in the same query
+     */
+    @Query("SELECT us FROM UserSubscription us JOIN FETCH us.subscriber JOIN FETCH us.subscribedTo " +
+           "WHERE us.subscribedTo.id = :userId ORDER BY us.createdAt DESC, us.id DESC")
+    List<UserSubscription> findWithUsersBySubscribedToId(@Param("userId") Long userId, Pageable pageable);
+    
+    /**
+     * Most recent subscriptions of a user with both users fetched in the same query
+     */
+    @Query("SELECT us FROM UserSubscription us JOIN FETCH us.subscriber JOIN FETCH us.subscribedTo " +
+           "WHERE us.subscriber.id = :userId ORDER BY us.createdAt DESC, us.id DESC")
+    List<UserSubscription> findWithUsersBySubscriberId(@Param("userId") Long userId, Pageable pageable);
+    
     /**
      * Find a specific subscription relationship between two users
      */
@@ -37,9 +82,20 @@ public interface UserSubscriptionRepository extends JpaRepository<UserSubscripti
     boolean existsBySubscriberAndSubscribedTo(User subscriber, User subscribedTo);
     
     /**
-     * ✅ NEW METHOD: Get all subscribers (User objects) of a specific user
-     * This is used by NotificationService to get the list of users to notify
+     * ✅ NEW METHOD: Get subscribers (User objects) of a specific user, most recent first
+     */
+    @Query("SELECT us.subscriber FROM UserSubscription us WHERE us.subscribedTo = :user ORDER BY us.createdAt DESC, us.id DESC")
+    List<User> findSubscribersBySubscribedTo(@Param("user") User user, Pageable pageable);
+    
+    /**
+     * Users a specific user is subscribed to, most recent first, in one query
+     */
+    @Query("SELECT us.subscribedTo FROM UserSubscription us WHERE us.subscriber = :user ORDER BY us.createdAt DESC, us.id DESC")
+    List<User> findSubscribedToBySubscriber(@Param("user") User user, Pageable pageable);
+    
+    /**
+     * Ids of users with more than the given number of subscribers
      */
-    @Query("SELECT us.subscriber FROM UserSubscription us WHERE us.subscribedTo = :user")
-    List<User> findSubscribersBySubscribedTo(@Param("user") User user);
+    @Query("SELECT us.subscribedTo.id FROM UserSubscription us GROUP BY us.subscribedTo.id HAVING COUNT(us) > :threshold")
+    List<Long> findSubscribedToIdsWithMoreSubscribersThan(@Param("threshold") long threshold);
 }
\ No newline at end of file
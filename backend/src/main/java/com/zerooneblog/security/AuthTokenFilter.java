@@ -14,6 +14,7 @@ import org.springframework.security.web.authentication.WebAuthenticationDetailsS
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -27,8 +28,13 @@ public class AuthTokenFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsServiceImpl userDetailsService;
 
+    @Autowired
+    private TokenVersionRegistry tokenVersionRegistry;
+
     private static final Logger logger = LoggerFactory.getLogger(AuthTokenFilter.class);
 
+    private static final String NOTIFICATION_STREAM_PATH = "/api/notifications/stream";
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
@@ -43,22 +49,32 @@ public class AuthTokenFilter extends OncePerRequestFilter {
             if (jwt != null) {
                 logger.debug("✅ JWT Token found in request");
                 
-                if (jwtUtils.validateJwtToken(jwt)) {
-                    String username = jwtUtils.getUserNameFromJwtToken(jwt);
+                Claims claims = jwtUtils.parseClaims(jwt);
+                if (claims != null) {
+                    String username = claims.getSubject();
                     logger.debug("✅ Valid JWT for user: {}", username);
 
-                    UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                    
-                    UsernamePasswordAuthenticationToken authentication = 
-                        new UsernamePasswordAuthenticationToken(
-                            userDetails,
-                            null,
-                            userDetails.getAuthorities());
-                    
-                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(authentication);
-                    
-                    logger.debug("✅ Authentication set for user: {}", username);
+                    // Current tokens carry id, role and version; older ones still need the user row
+                    UserPrincipal principal = jwtUtils.getPrincipalFromClaims(claims);
+
+                    if (principal != null && !tokenVersionRegistry.isCurrent(principal.getId(), principal.getTokenVersion())) {
+                        logger.warn("🚫 Revoked JWT for user: {}", username);
+                    } else {
+                        UserDetails userDetails = principal != null
+                            ? principal
+                            : userDetailsService.loadUserByUsername(username);
+                        
+                        UsernamePasswordAuthenticationToken authentication = 
+                            new UsernamePasswordAuthenticationToken(
+                                userDetails,
+                                null,
+                                userDetails.getAuthorities());
+                        
+                        authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                        SecurityContextHolder.getContext().setAuthentication(authentication);
+                        
+                        logger.debug("✅ Authentication set for user: {}", username);
+                    }
                 } else {
                     logger.warn("⚠️ Invalid JWT token for request to: {}", requestURI);
                 }
@@ -74,7 +90,8 @@ public class AuthTokenFilter extends OncePerRequestFilter {
     }
 
     /**
-     * Extracts JWT token from the Authorization header
+     * Extracts JWT token from the Authorization header.
+     * EventSource cannot set headers, so the notification stream also accepts ?access_token=
      */
     private String parseJwt(HttpServletRequest request) {
         String headerAuth = request.getHeader("Authorization");
@@ -89,6 +106,13 @@ public class AuthTokenFilter extends OncePerRequestFilter {
             return token;
         }
 
+        if (NOTIFICATION_STREAM_PATH.equals(request.getRequestURI())) {
+            String queryToken = request.getParameter("access_token");
+            if (StringUtils.hasText(queryToken)) {
+                return queryToken;
+            }
+        }
+
         return null;
     }
 }
\ No newline at end of file
@@ -1,26 +1,57 @@
 package com.zerooneblog.security;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Collections;
 import java.util.Date;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.crypto.SecretKey;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 
+import com.zerooneblog.model.User;
+
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.UnsupportedJwtException;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 
+/**
+ * Issues and verifies JWTs.
+ *
+ * The signing key and parser are built once at startup. Verified claims are cached until the
+ * token expires, keyed by a SHA-256 digest of the token (raw bearer tokens are not retained),
+ * so a client sending the same token on every request is verified and parsed only once.
+ *
+ * Tokens carry the user id, role and token version, so the filter can build the principal
+ * from the claims alone; revocation is checked against {@link TokenVersionRegistry}.
+ */
 @Component
 public class JwtUtils {
     private static final Logger logger = LoggerFactory.getLogger(JwtUtils.class);
 
+    private static final String CLAIM_USER_ID = "uid";
+    private static final String CLAIM_ROLE = "role";
+    private static final String CLAIM_TOKEN_VERSION = "ver";
+
     @Value("${jwt.secret}")
     private String jwtSecret;
 
@@ -31,8 +62,27 @@ public class JwtUtils {
     // @Value("${jwt.expiration:86400000}") // 24 hours default
     // private int jwtExpirationMs;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+    @Value("${jwt.claims-cache.max-size:10000}")
+    private int claimsCacheMaxSize;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private SecretKey signingKey;
+    private JwtParser parser;
+
+    private final ConcurrentHashMap<String, Claims> claimsCache = new ConcurrentHashMap<>();
+    private Counter cacheHits;
+    private Counter cacheMisses;
+
+    @PostConstruct
+    public void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+
+        cacheHits = meterRegistry.counter("jwt.claims.cache", "result", "hit");
+        cacheMisses = meterRegistry.counter("jwt.claims.cache", "result", "miss");
+        Gauge.builder("jwt.claims.cache.size", claimsCache, ConcurrentHashMap::size).register(meterRegistry);
     }
 
     public String generateJwtToken(Authentication authentication) {
@@ -43,40 +93,110 @@ public class JwtUtils {
 
     return Jwts.builder()
             .setSubject((userPrincipal.getUsername()))
+            .claim(CLAIM_USER_ID, userPrincipal.getId())
+            .claim(CLAIM_ROLE, userPrincipal.getRole().name())
+            .claim(CLAIM_TOKEN_VERSION, userPrincipal.getTokenVersion())
             .setIssuedAt(new Date())
             .setExpiration(new Date((new Date()).getTime() + jwtExpirationMs))
-            .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+            .signWith(signingKey, SignatureAlgorithm.HS256)
             .compact();
 }
 
+    /**
+     * Verify the token and return its claims in one pass, or null if it is not valid
+     */
+    public Claims parseClaims(String token) {
+        if (token == null || token.isEmpty()) {
+            logger.error("JWT claims string is empty");
+            return null;
+        }
+
+        String key = digest(token);
+        Claims cached = claimsCache.get(key);
+        if (cached != null) {
+            if (cached.getExpiration().after(new Date())) {
+                cacheHits.increment();
+                return cached;
+            }
+            claimsCache.remove(key, cached);
+        }
+        cacheMisses.increment();
+
+        Claims claims = verify(token);
+        if (claims != null && claims.getExpiration() != null) {
+            cache(key, claims);
+        }
+        return claims;
+    }
+
+    /**
+     * Build the principal from verified claims without loading the user,
+     * or null for tokens issued before the id/role/version claims existed
+     */
+    public UserPrincipal getPrincipalFromClaims(Claims claims) {
+        Number userId = claims.get(CLAIM_USER_ID, Number.class);
+        String role = claims.get(CLAIM_ROLE, String.class);
+        Number tokenVersion = claims.get(CLAIM_TOKEN_VERSION, Number.class);
+        if (userId == null || role == null || tokenVersion == null) {
+            return null;
+        }
+
+        return new UserPrincipal(
+            userId.longValue(),
+            claims.getSubject(),
+            null,
+            null,
+            Collections.singletonList(new SimpleGrantedAuthority(role)),
+            User.Role.valueOf(role),
+            false,
+            tokenVersion.intValue()
+        );
+    }
+
     public String getUserNameFromJwtToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+        Claims claims = parseClaims(token);
+        return claims != null ? claims.getSubject() : null;
     }
 
     public boolean validateJwtToken(String authToken) {
+        return parseClaims(authToken) != null;
+    }
+
+    private Claims verify(String token) {
         try {
-            Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(authToken);
-            return true;
-        } catch (SecurityException e) {
-            logger.error("Invalid JWT signature: {}", e.getMessage());
+            return parser.parseClaimsJws(token).getBody();
         } catch (MalformedJwtException e) {
             logger.error("Invalid JWT token: {}", e.getMessage());
         } catch (ExpiredJwtException e) {
             logger.error("JWT token is expired: {}", e.getMessage());
         } catch (UnsupportedJwtException e) {
             logger.error("JWT token is unsupported: {}", e.getMessage());
+        } catch (JwtException e) {
+            logger.error("Invalid JWT signature: {}", e.getMessage());
         } catch (IllegalArgumentException e) {
             logger.error("JWT claims string is empty: {}", e.getMessage());
         }
 
-        return false;
+        return null;
+    }
+
+    private void cache(String key, Claims claims) {
+        if (claimsCache.size() >= claimsCacheMaxSize) {
+            Date now = new Date();
+            claimsCache.values().removeIf(entry -> !entry.getExpiration().after(now));
+            if (claimsCache.size() >= claimsCacheMaxSize) {
+                return; // Still full of live tokens; verify this one on every request rather than grow
+            }
+        }
+        claimsCache.put(key, claims);
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 }
\ No newline at end of file
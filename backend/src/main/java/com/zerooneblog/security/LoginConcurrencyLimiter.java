@@ -0,0 +1,85 @@
+// backend/src/main/java/com/zerooneblog/security/LoginConcurrencyLimiter.java
+package com.zerooneblog.security;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Caps concurrent credential checks per username and per client IP.
+ *
+ * One client hammering sign-in can otherwise fill the whole hashing queue; with a cap it
+ * gets 429s while everybody else keeps logging in. Only in-flight attempts are counted,
+ * and a key is dropped when its count returns to zero, so the map stays small.
+ */
+@Component
+public class LoginConcurrencyLimiter {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${security.login.max-concurrent-per-username:2}")
+    private int maxPerUsername;
+
+    @Value("${security.login.max-concurrent-per-ip:8}")
+    private int maxPerIp;
+
+    private final ConcurrentHashMap<String, Integer> inFlight = new ConcurrentHashMap<>();
+
+    private Counter shedCounter;
+
+    @PostConstruct
+    public void init() {
+        shedCounter = meterRegistry.counter("security.login.shed");
+    }
+
+    /**
+     * @return false if the username or IP already has the maximum attempts in flight;
+     *         otherwise the caller must {@link #release} when done
+     */
+    public boolean tryAcquire(String username, String ip) {
+        if (!acquire(usernameKey(username), maxPerUsername)) {
+            shedCounter.increment();
+            return false;
+        }
+        if (!acquire(ipKey(ip), maxPerIp)) {
+            release(usernameKey(username));
+            shedCounter.increment();
+            return false;
+        }
+        return true;
+    }
+
+    public void release(String username, String ip) {
+        release(usernameKey(username));
+        release(ipKey(ip));
+    }
+
+    private boolean acquire(String key, int max) {
+        boolean[] acquired = new boolean[1];
+        inFlight.compute(key, (k, count) -> {
+            int current = count == null ? 0 : count;
+            acquired[0] = current < max;
+            return acquired[0] ? current + 1 : count;
+        });
+        return acquired[0];
+    }
+
+    private void release(String key) {
+        inFlight.computeIfPresent(key, (k, count) -> count <= 1 ? null : count - 1);
+    }
+
+    private static String usernameKey(String username) {
+        return "user:" + username;
+    }
+
+    private static String ipKey(String ip) {
+        return "ip:" + ip;
+    }
+}
@@ -0,0 +1,109 @@
+// backend/src/main/java/com/zerooneblog/security/PasswordHashingExecutor.java
+package com.zerooneblog.security;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Small dedicated pool for password hashing (sign-in and sign-up).
+ *
+ * BCrypt is deliberately CPU-bound, so running it on Tomcat's request threads lets a login
+ * storm take every worker. Here it runs on a fixed number of threads, by default half the
+ * cores, behind a bounded queue. A full queue, or a job that waited longer than the
+ * configured limit, is rejected so callers can answer 503 at once instead of piling up.
+ */
+@Component
+public class PasswordHashingExecutor {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // 0 means half the available cores
+    @Value("${security.hashing.workers:0}")
+    private int workers;
+
+    @Value("${security.hashing.queue-capacity:64}")
+    private int queueCapacity;
+
+    @Value("${security.hashing.max-queue-wait-ms:5000}")
+    private long maxQueueWaitMs;
+
+    private ThreadPoolExecutor executor;
+
+    private Timer queueWaitTimer;
+    private Timer hashTimer;
+    private Counter rejectedCounter;
+
+    @PostConstruct
+    public void init() {
+        int threads = workers > 0 ? workers : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+                Thread thread = new Thread(runnable, "password-hashing-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+
+        Gauge.builder("security.hashing.queue.depth", executor, pool -> pool.getQueue().size())
+            .description("Hashing jobs waiting for a worker")
+            .register(meterRegistry);
+        Gauge.builder("security.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+            .description("Hashing jobs running")
+            .register(meterRegistry);
+        queueWaitTimer = Timer.builder("security.hashing.queue.wait")
+            .description("Time a hashing job waited for a worker")
+            .register(meterRegistry);
+        hashTimer = Timer.builder("security.hashing.run")
+            .description("Time spent running a hashing job")
+            .register(meterRegistry);
+        rejectedCounter = meterRegistry.counter("security.hashing.rejected");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Run a job that hashes or verifies a password on the hashing pool.
+     * The future fails with RejectedExecutionException if the job waited too long for a worker.
+     *
+     * @throws RejectedExecutionException if the queue is full
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> job) {
+        long queuedAt = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                long waitedNanos = System.nanoTime() - queuedAt;
+                queueWaitTimer.record(waitedNanos, TimeUnit.NANOSECONDS);
+                if (waitedNanos > TimeUnit.MILLISECONDS.toNanos(maxQueueWaitMs)) {
+                    // The client has likely given up already; do not spend a hash on it
+                    rejectedCounter.increment();
+                    throw new RejectedExecutionException("Hashing job waited " + waitedNanos / 1_000_000 + " ms");
+                }
+                return hashTimer.record(job);
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw e;
+        }
+    }
+}
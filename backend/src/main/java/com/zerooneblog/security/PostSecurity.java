@@ -4,7 +4,6 @@ package com.zerooneblog.security;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 
 import com.zerooneblog.model.Post;
@@ -20,14 +19,15 @@ public class PostSecurity {
     private UserService userService;
 
     public boolean isPostOwner(Long postId) {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+        Long userId = userService.getCurrentUserId();
         Optional<Post> postOptional = postRepository.findById(postId);
         
         if (postOptional.isEmpty()) {
             return false;
         }
         
+        // Reading the author's id does not load the author row
         Post post = postOptional.get();
-        return post.getAuthor().getUsername().equals(username);
+        return post.getAuthor().getId().equals(userId);
     }
 }
\ No newline at end of file
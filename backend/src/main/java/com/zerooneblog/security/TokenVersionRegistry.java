@@ -0,0 +1,91 @@
+// backend/src/main/java/com/zerooneblog/security/TokenVersionRegistry.java
+package com.zerooneblog.security;
+
+import java.sql.Timestamp;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.zerooneblog.config.BatchPool;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Revocation table for stateless JWTs.
+ *
+ * Tokens carry the user's token_version at issue time. Only users whose version was ever
+ * bumped (banned, deleted) are held here, as userId -> minimum valid version, so the map
+ * stays small and a token check never touches the database. The table is reloaded from
+ * users.token_version on a timer, which also picks up bumps made by other instances.
+ * Deleted users have no row left to reload, so UserService writes a deleted_users tombstone
+ * in the deleting transaction; the same reload picks those up, and they are denied until
+ * every token issued to them has expired, after which the tombstone is dropped.
+ */
+@Component
+@DependsOn("entityManagerFactory") // token_version must exist before the first load
+public class TokenVersionRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenVersionRegistry.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${jwt.expiration:86400000}")
+    private long tokenLifetimeMs;
+
+    private final ConcurrentHashMap<Long, Integer> minVersions = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Long> deletedAt = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        refresh();
+    }
+
+    /**
+     * @return false if the token was revoked by a later version bump or the user was deleted
+     */
+    public boolean isCurrent(Long userId, int tokenVersion) {
+        if (deletedAt.containsKey(userId)) {
+            return false;
+        }
+        Integer minVersion = minVersions.get(userId);
+        return minVersion == null || tokenVersion >= minVersion;
+    }
+
+    /**
+     * Reject the user's tokens older than the given version
+     */
+    public void revoke(Long userId, int minVersion) {
+        minVersions.merge(userId, minVersion, Math::max);
+    }
+
+    public void onUserDeleted(Long userId) {
+        deletedAt.put(userId, System.currentTimeMillis());
+        minVersions.remove(userId);
+    }
+
+    @BatchPool
+    @Scheduled(fixedDelayString = "${security.token-versions.refresh-ms:30000}")
+    public void refresh() {
+        long expiredBefore = System.currentTimeMillis() - tokenLifetimeMs;
+        try {
+            jdbcTemplate.query("SELECT id, token_version FROM users WHERE token_version > 0",
+                rs -> { revoke(rs.getLong(1), rs.getInt(2)); });
+            jdbcTemplate.query("SELECT user_id, deleted_at FROM deleted_users WHERE deleted_at >= ?",
+                rs -> { deletedAt.putIfAbsent(rs.getLong(1), rs.getTimestamp(2).getTime()); },
+                new Timestamp(expiredBefore));
+            jdbcTemplate.update("DELETE FROM deleted_users WHERE deleted_at < ?", new Timestamp(expiredBefore));
+        } catch (Exception e) {
+            logger.error("❌ Failed to reload token versions: {}", e.getMessage());
+        }
+
+        deletedAt.values().removeIf(at -> at < expiredBefore);
+    }
+}
@@ -2,8 +2,12 @@
 
 package com.zerooneblog.security;
 
+import java.util.concurrent.ConcurrentHashMap;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -11,22 +15,96 @@ import org.springframework.stereotype.Service;
 import com.zerooneblog.model.User;
 import com.zerooneblog.repository.UserRepository;
 
+/**
+ * Resolves principals for the JWT filter and for sign-in.
+ *
+ * Principals are snapshots of the user row (id, role, blocked flag, password hash) kept in a
+ * bounded cache for a short TTL, so an authenticated request does not re-read the users
+ * table. UserService invalidates a user's snapshot whenever it bans, unbans, updates or
+ * deletes them; the TTL only bounds staleness for writes that bypass UserService.
+ *
+ * Also stores passwords re-hashed at sign-in when the configured BCrypt strength was raised.
+ */
 @Service
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 
     @Autowired
     private UserRepository userRepository;
 
+    @Value("${security.user-cache.ttl-ms:60000}")
+    private long ttlMs;
+
+    @Value("${security.user-cache.max-size:10000}")
+    private int maxSize;
+
+    private final ConcurrentHashMap<String, CachedPrincipal> principals = new ConcurrentHashMap<>();
+
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
+        UserPrincipal principal = loadPrincipal(username);
         
         // ✅ FIXED: Changed from getIsBlocked() to isBlocked()
-        if (user.isBlocked()) {
+        if (principal.isBlocked()) {
             throw new RuntimeException("User account is blocked");
         }
         
-        return UserPrincipal.build(user); // User implements UserDetails
+        return principal;
+    }
+
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        UserPrincipal principal = (UserPrincipal) user;
+        userRepository.updatePassword(principal.getId(), newPassword);
+        invalidate(principal.getId());
+
+        return new UserPrincipal(
+            principal.getId(),
+            principal.getUsername(),
+            principal.getEmail(),
+            newPassword,
+            principal.getAuthorities(),
+            principal.getRole(),
+            principal.isBlocked(),
+            principal.getTokenVersion()
+        );
+    }
+
+    /**
+     * Drop a user's cached snapshot so the next request reads the row again
+     */
+    public void invalidate(Long userId) {
+        principals.values().removeIf(cached -> cached.principal.getId().equals(userId));
+    }
+
+    private UserPrincipal loadPrincipal(String username) {
+        long now = System.currentTimeMillis();
+        CachedPrincipal cached = principals.get(username);
+        if (cached != null && now - cached.loadedAt <= ttlMs) {
+            return cached.principal;
+        }
+
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
+        UserPrincipal principal = UserPrincipal.build(user);
+
+        if (principals.size() >= maxSize) {
+            // Expired entries first; if none, drop an arbitrary one to stay bounded
+            principals.values().removeIf(entry -> now - entry.loadedAt > ttlMs);
+            if (principals.size() >= maxSize) {
+                principals.keySet().stream().findAny().ifPresent(principals::remove);
+            }
+        }
+        principals.put(username, new CachedPrincipal(principal, now));
+        return principal;
+    }
+
+    private static final class CachedPrincipal {
+        private final UserPrincipal principal;
+        private final long loadedAt;
+
+        CachedPrincipal(UserPrincipal principal, long loadedAt) {
+            this.principal = principal;
+            this.loadedAt = loadedAt;
+        }
     }
 }
\ No newline at end of file
@@ -19,6 +19,9 @@ public class UserPrincipal implements UserDetails {
     private String email;
     private String password;
     private Collection<? extends GrantedAuthority> authorities;
+    private User.Role role;
+    private boolean blocked;
+    private int tokenVersion;
 
     public UserPrincipal(Long id, String username, String email, String password, Collection<? extends GrantedAuthority> authorities) {
         this.id = id;
@@ -28,6 +31,15 @@ public class UserPrincipal implements UserDetails {
         this.authorities = authorities;
     }
 
+    public UserPrincipal(Long id, String username, String email, String password,
+                         Collection<? extends GrantedAuthority> authorities, User.Role role, boolean blocked,
+                         int tokenVersion) {
+        this(id, username, email, password, authorities);
+        this.role = role;
+        this.blocked = blocked;
+        this.tokenVersion = tokenVersion;
+    }
+
     public static UserPrincipal build(User user) {
         // FIXED: Convert the simple String role from the User model into a Spring Security GrantedAuthority
         List<GrantedAuthority> authorities = Collections.singletonList(
@@ -39,7 +51,10 @@ public class UserPrincipal implements UserDetails {
             user.getUsername(), 
             user.getEmail(), 
             user.getPassword(), 
-            authorities
+            authorities,
+            user.getRole(),
+            user.isBlocked(),
+            user.getTokenVersion()
         );
     }
 
@@ -47,6 +62,18 @@ public class UserPrincipal implements UserDetails {
         return id;
     }
 
+    public User.Role getRole() {
+        return role;
+    }
+
+    public boolean isBlocked() {
+        return blocked;
+    }
+
+    public int getTokenVersion() {
+        return tokenVersion;
+    }
+
     public String getEmail() {
         return email;
     }
@@ -0,0 +1,181 @@
+// backend/src/main/java/com/zerooneblog/service/AdjacencyList.java
+package com.zerooneblog.service;
+
+import java.util.Arrays;
+
+/**
+ * One user's neighbours in the {@link FollowGraph}: a sorted set of user ids held as a
+ * list of sorted long[] segments of at most SEGMENT_SIZE ids each.
+ *
+ * Readers use the current immutable snapshot without locking; lookups are a binary search
+ * over segment heads and then within one segment. A writer copies only the segment it
+ * changes plus the small array of segment references, so a follow on an account with a
+ * million followers copies a few kilobytes rather than the whole list.
+ */
+final class AdjacencyList {
+
+    static final int SEGMENT_SIZE = 512;
+
+    private volatile Snapshot snapshot = new Snapshot(new long[0][], 0);
+
+    /**
+     * Build from ids that are already sorted ascending and distinct
+     */
+    static AdjacencyList ofSorted(long[] ids, int length) {
+        long[][] segments = new long[(length + SEGMENT_SIZE - 1) / SEGMENT_SIZE][];
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = Arrays.copyOfRange(ids, i * SEGMENT_SIZE, Math.min(length, (i + 1) * SEGMENT_SIZE));
+        }
+        AdjacencyList list = new AdjacencyList();
+        list.snapshot = new Snapshot(segments, length);
+        return list;
+    }
+
+    int size() {
+        return snapshot.size;
+    }
+
+    boolean contains(long id) {
+        long[][] segments = snapshot.segments;
+        int segment = segmentFor(segments, id);
+        return segment >= 0 && Arrays.binarySearch(segments[segment], id) >= 0;
+    }
+
+    /**
+     * @return true if the id was not present
+     */
+    synchronized boolean add(long id) {
+        Snapshot current = snapshot;
+        long[][] segments = current.segments;
+        if (segments.length == 0) {
+            snapshot = new Snapshot(new long[][] { { id } }, 1);
+            return true;
+        }
+
+        // Ids below the first head go into the first segment
+        int index = Math.max(0, segmentFor(segments, id));
+        long[] segment = segments[index];
+        int pos = Arrays.binarySearch(segment, id);
+        if (pos >= 0) {
+            return false;
+        }
+        pos = -pos - 1;
+
+        long[] grown = new long[segment.length + 1];
+        System.arraycopy(segment, 0, grown, 0, pos);
+        grown[pos] = id;
+        System.arraycopy(segment, pos, grown, pos + 1, segment.length - pos);
+
+        long[][] next;
+        if (grown.length <= SEGMENT_SIZE) {
+            next = segments.clone();
+            next[index] = grown;
+        } else {
+            // Split a full segment in two halves
+            int half = grown.length / 2;
+            next = new long[segments.length + 1][];
+            System.arraycopy(segments, 0, next, 0, index);
+            next[index] = Arrays.copyOfRange(grown, 0, half);
+            next[index + 1] = Arrays.copyOfRange(grown, half, grown.length);
+            System.arraycopy(segments, index + 1, next, index + 2, segments.length - index - 1);
+        }
+        snapshot = new Snapshot(next, current.size + 1);
+        return true;
+    }
+
+    /**
+     * @return true if the id was present
+     */
+    synchronized boolean remove(long id) {
+        Snapshot current = snapshot;
+        long[][] segments = current.segments;
+        int index = segmentFor(segments, id);
+        if (index < 0) {
+            return false;
+        }
+        long[] segment = segments[index];
+        int pos = Arrays.binarySearch(segment, id);
+        if (pos < 0) {
+            return false;
+        }
+
+        long[][] next;
+        if (segment.length == 1) {
+            // Segments are never left empty, so every head is a real id
+            next = new long[segments.length - 1][];
+            System.arraycopy(segments, 0, next, 0, index);
+            System.arraycopy(segments, index + 1, next, index, segments.length - index - 1);
+        } else {
+            long[] shrunk = new long[segment.length - 1];
+            System.arraycopy(segment, 0, shrunk, 0, pos);
+            System.arraycopy(segment, pos + 1, shrunk, pos, segment.length - pos - 1);
+            next = segments.clone();
+            next[index] = shrunk;
+        }
+        snapshot = new Snapshot(next, current.size - 1);
+        return true;
+    }
+
+    /**
+     * All ids in ascending order
+     */
+    long[] toArray() {
+        Snapshot current = snapshot;
+        long[] ids = new long[current.size];
+        int offset = 0;
+        for (long[] segment : current.segments) {
+            System.arraycopy(segment, 0, ids, offset, segment.length);
+            offset += segment.length;
+        }
+        return ids;
+    }
+
+    /**
+     * Up to into.length ids, evenly spaced over the list and ascending, read straight from the
+     * segments without copying the list; returns how many were written
+     */
+    int sample(long[] into) {
+        Snapshot current = snapshot;
+        int count = Math.min(into.length, current.size);
+        double step = (double) current.size / Math.max(1, count);
+        long[][] segments = current.segments;
+        int segment = 0;
+        int offset = 0; // list index of the current segment's first id
+        for (int i = 0; i < count; i++) {
+            int index = (int) (i * step);
+            while (index >= offset + segments[segment].length) {
+                offset += segments[segment].length;
+                segment++;
+            }
+            into[i] = segments[segment][index - offset];
+        }
+        return count;
+    }
+
+    // Index of the last segment whose first id is <= id, or -1
+    private static int segmentFor(long[][] segments, long id) {
+        int low = 0;
+        int high = segments.length - 1;
+        int found = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (segments[mid][0] <= id) {
+                found = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return found;
+    }
+
+    private static final class Snapshot {
+        private final long[][] segments;
+        private final int size;
+
+        Snapshot(long[][] segments, int size) {
+            this.segments = segments;
+            this.size = size;
+        }
+    }
+}
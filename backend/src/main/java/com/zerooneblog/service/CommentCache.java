@@ -0,0 +1,417 @@
+// backend/src/main/java/com/zerooneblog/service/CommentCache.java
+package com.zerooneblog.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.zerooneblog.dto.PageCursor;
+import com.zerooneblog.dto.SerializedComment;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Newest comments of the hottest posts, held as immutable slices of pre-serialized comments.
+ *
+ * A slice is the post's newest slice-size comments, newest first, so any page that falls
+ * inside it is served without touching Postgres; a page that starts inside it and runs past
+ * its end only loads the rows after the slice. CommentService applies its writes to
+ * cached slices once they commit. Those updates are idempotent by comment id, so a slice
+ * loaded while a write was committing still converges.
+ *
+ * Eviction follows W-TinyLFU: new posts enter a small LRU window. A post leaving the window
+ * only replaces the main area's eviction victim if a count-min sketch of recent accesses
+ * says it is requested more often. The main area is a segmented LRU (probation/protected),
+ * so a burst of one-off posts cannot flush the steadily popular ones.
+ */
+@Service
+public class CommentCache {
+
+    // Share of the capacity given to the admission window and to the protected segment
+    private static final double WINDOW_SHARE = 0.01;
+    private static final double PROTECTED_SHARE = 0.8;
+
+    private static final int STAMP_STRIPES = 1024;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${comments.cache.max-posts:1000}")
+    private int maxPosts;
+
+    @Value("${comments.cache.slice-size:50}")
+    private int sliceSize;
+
+    private final ConcurrentHashMap<Long, Slice> slices = new ConcurrentHashMap<>();
+
+    // Bumped before each write is applied; a load only installs if its stripe did not move
+    private final AtomicLongArray stamps = new AtomicLongArray(STAMP_STRIPES);
+
+    // Guards the policy state below; readers skip recording an access rather than wait
+    private final ReentrantLock policyLock = new ReentrantLock();
+    private final LinkedHashSet<Long> window = new LinkedHashSet<>();
+    private final LinkedHashSet<Long> probation = new LinkedHashSet<>();
+    private final LinkedHashSet<Long> protectedPosts = new LinkedHashSet<>();
+    private FrequencySketch sketch;
+    private int windowCapacity;
+    private int protectedCapacity;
+
+    private Counter hitCounter;
+    private Counter partialCounter;
+    private Counter missCounter;
+    private Counter evictionCounter;
+
+    @PostConstruct
+    public void init() {
+        windowCapacity = Math.max(1, (int) (maxPosts * WINDOW_SHARE));
+        protectedCapacity = (int) ((maxPosts - windowCapacity) * PROTECTED_SHARE);
+        sketch = new FrequencySketch(maxPosts);
+
+        hitCounter = meterRegistry.counter("comments.cache", "result", "hit");
+        partialCounter = meterRegistry.counter("comments.cache", "result", "partial");
+        missCounter = meterRegistry.counter("comments.cache", "result", "miss");
+        evictionCounter = meterRegistry.counter("comments.cache.evictions");
+        Gauge.builder("comments.cache.size", slices, ConcurrentHashMap::size)
+            .description("Posts with cached comments")
+            .register(meterRegistry);
+    }
+
+    public int getSliceSize() {
+        return sliceSize;
+    }
+
+    /**
+     * Up to count comments strictly older than the cursor, or null if the cached slice holds none of them.
+     * When the page runs past the end of the slice, loadOlder(cursor, n) is asked for the n rows after
+     * the last cached comment, so a page larger than the slice still reuses it.
+     */
+    public List<SerializedComment> getPage(Long postId, PageCursor cursor, int count,
+                                           BiFunction<PageCursor, Integer, List<SerializedComment>> loadOlder) {
+        recordAccess(postId);
+        Slice slice = slices.get(postId);
+        List<SerializedComment> page = slice != null ? slice.page(cursor, count) : null;
+        if (page != null) {
+            hitCounter.increment();
+            return page;
+        }
+        List<SerializedComment> head = slice != null ? slice.head(cursor, count) : List.of();
+        if (head.isEmpty()) {
+            missCounter.increment();
+            return null;
+        }
+        partialCounter.increment();
+        SerializedComment last = head.get(head.size() - 1);
+        List<SerializedComment> rest = loadOlder.apply(new PageCursor(last.getCreatedAt(), last.getId()), count - head.size());
+        List<SerializedComment> combined = new ArrayList<>(head.size() + rest.size());
+        combined.addAll(head);
+        combined.addAll(rest);
+        return combined;
+    }
+
+    /**
+     * Stamp to read before loading a post's comments and hand back to {@link #put}
+     */
+    public long stamp(Long postId) {
+        return stamps.get(stripe(postId));
+    }
+
+    /**
+     * Offer the post's newest comments, newest first (more than slice-size rows means the post has more)
+     */
+    public void put(Long postId, List<SerializedComment> newest, long stamp) {
+        boolean complete = newest.size() <= sliceSize;
+        Slice slice = new Slice(new ArrayList<>(newest.subList(0, Math.min(newest.size(), sliceSize))), complete);
+
+        policyLock.lock();
+        try {
+            boolean[] installed = new boolean[1];
+            slices.compute(postId, (id, current) -> {
+                if (stamps.get(stripe(postId)) != stamp) {
+                    return current;
+                }
+                installed[0] = true;
+                return slice;
+            });
+            if (installed[0] && !window.contains(postId) && !probation.contains(postId) && !protectedPosts.contains(postId)) {
+                window.add(postId);
+                if (window.size() > windowCapacity) {
+                    admit(removeEldest(window));
+                }
+            }
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    public void onCommentAdded(Long postId, SerializedComment comment) {
+        stamps.incrementAndGet(stripe(postId));
+        slices.computeIfPresent(postId, (id, slice) -> slice.with(comment, sliceSize));
+    }
+
+    public void onCommentUpdated(Long postId, SerializedComment comment) {
+        stamps.incrementAndGet(stripe(postId));
+        slices.computeIfPresent(postId, (id, slice) -> slice.replacing(comment));
+    }
+
+    public void onCommentRemoved(Long postId, Long commentId) {
+        stamps.incrementAndGet(stripe(postId));
+        slices.computeIfPresent(postId, (id, slice) -> slice.without(commentId));
+    }
+
+    public void onPostDeleted(Long postId) {
+        AfterCommit.run(() -> {
+            stamps.incrementAndGet(stripe(postId));
+            policyLock.lock();
+            try {
+                slices.remove(postId);
+                window.remove(postId);
+                probation.remove(postId);
+                protectedPosts.remove(postId);
+            } finally {
+                policyLock.unlock();
+            }
+        });
+    }
+
+    /**
+     * Drop the slices holding the author's comments, whose JSON carries the old username and picture.
+     * Every stripe is bumped first so a load that read the old author before the commit cannot install.
+     */
+    public void onAuthorUpdated(Long authorId) {
+        AfterCommit.run(() -> {
+            for (int i = 0; i < STAMP_STRIPES; i++) {
+                stamps.incrementAndGet(i);
+            }
+            for (Map.Entry<Long, Slice> entry : slices.entrySet()) {
+                if (entry.getValue().hasAuthor(authorId)) {
+                    slices.remove(entry.getKey(), entry.getValue());
+                }
+            }
+        });
+    }
+
+    /**
+     * Drop every slice, for bulk deletions that do not name the posts they touch
+     */
+    public void invalidateAll() {
+        AfterCommit.run(() -> {
+            for (int i = 0; i < STAMP_STRIPES; i++) {
+                stamps.incrementAndGet(i);
+            }
+            policyLock.lock();
+            try {
+                slices.clear();
+                window.clear();
+                probation.clear();
+                protectedPosts.clear();
+            } finally {
+                policyLock.unlock();
+            }
+        });
+    }
+
+    private void recordAccess(Long postId) {
+        if (!policyLock.tryLock()) {
+            return;
+        }
+        try {
+            sketch.increment(postId);
+            if (window.remove(postId)) {
+                window.add(postId);
+            } else if (probation.remove(postId)) {
+                protectedPosts.add(postId);
+                if (protectedPosts.size() > protectedCapacity) {
+                    probation.add(removeEldest(protectedPosts));
+                }
+            } else if (protectedPosts.remove(postId)) {
+                protectedPosts.add(postId);
+            }
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    // A post leaving the window enters probation if there is room or it is requested more than the victim
+    private void admit(Long candidate) {
+        if (probation.size() + protectedPosts.size() < maxPosts - windowCapacity) {
+            probation.add(candidate);
+            return;
+        }
+        LinkedHashSet<Long> victims = probation.isEmpty() ? protectedPosts : probation;
+        Long victim = victims.iterator().next();
+        if (sketch.frequency(candidate) > sketch.frequency(victim)) {
+            victims.remove(victim);
+            evict(victim);
+            probation.add(candidate);
+        } else {
+            evict(candidate);
+        }
+    }
+
+    private void evict(Long postId) {
+        slices.remove(postId);
+        evictionCounter.increment();
+    }
+
+    private static Long removeEldest(LinkedHashSet<Long> segment) {
+        Iterator<Long> eldest = segment.iterator();
+        Long postId = eldest.next();
+        eldest.remove();
+        return postId;
+    }
+
+    private static int stripe(Long postId) {
+        return (int) ((postId ^ (postId >>> 32)) & (STAMP_STRIPES - 1));
+    }
+
+    /**
+     * The newest comments of one post, newest first. Never modified; writes build a new slice.
+     * complete means the post has no comments beyond the slice.
+     */
+    static final class Slice {
+        private final List<SerializedComment> comments;
+        private final boolean complete;
+
+        Slice(List<SerializedComment> comments, boolean complete) {
+            this.comments = Collections.unmodifiableList(comments);
+            this.complete = complete;
+        }
+
+        // The page after the cursor, or null if it runs past the end of an incomplete slice
+        List<SerializedComment> page(PageCursor cursor, int count) {
+            List<SerializedComment> head = head(cursor, count);
+            return head.size() == count || complete ? head : null;
+        }
+
+        // Up to count cached comments older than the cursor; fewer only where the slice ends
+        List<SerializedComment> head(PageCursor cursor, int count) {
+            int from = 0;
+            while (from < comments.size() && !isOlder(comments.get(from), cursor)) {
+                from++;
+            }
+            return comments.subList(from, Math.min(from + count, comments.size()));
+        }
+
+        Slice with(SerializedComment comment, int maxSize) {
+            List<SerializedComment> next = new ArrayList<>(comments.size() + 1);
+            boolean inserted = false;
+            for (SerializedComment existing : comments) {
+                if (existing.getId().equals(comment.getId())) {
+                    return this;
+                }
+                if (!inserted && isOlder(existing, new PageCursor(comment.getCreatedAt(), comment.getId()))) {
+                    next.add(comment);
+                    inserted = true;
+                }
+                next.add(existing);
+            }
+            if (!inserted) {
+                if (!complete) {
+                    // Older than everything cached: it belongs past the end of an incomplete slice
+                    return this;
+                }
+                next.add(comment);
+            }
+            boolean fits = next.size() <= maxSize;
+            return new Slice(fits ? next : new ArrayList<>(next.subList(0, maxSize)), complete && fits);
+        }
+
+        Slice replacing(SerializedComment comment) {
+            List<SerializedComment> next = new ArrayList<>(comments);
+            for (int i = 0; i < next.size(); i++) {
+                if (next.get(i).getId().equals(comment.getId())) {
+                    next.set(i, comment);
+                    return new Slice(next, complete);
+                }
+            }
+            return this;
+        }
+
+        boolean hasAuthor(Long authorId) {
+            for (SerializedComment comment : comments) {
+                if (authorId.equals(comment.getAuthorId())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        // The slice stays a gap-free prefix of the post's comments, just one shorter
+        Slice without(Long commentId) {
+            List<SerializedComment> next = new ArrayList<>(comments);
+            return next.removeIf(comment -> comment.getId().equals(commentId)) ? new Slice(next, complete) : this;
+        }
+
+        private static boolean isOlder(SerializedComment comment, PageCursor cursor) {
+            int byTime = comment.getCreatedAt().compareTo(cursor.getCreatedAt());
+            return byTime < 0 || (byTime == 0 && comment.getId() < cursor.getId());
+        }
+    }
+
+    /**
+     * Count-min sketch of recent accesses with 4-bit counters. Every counter is halved once
+     * ten accesses per cached post have been recorded, so old popularity fades.
+     */
+    static final class FrequencySketch {
+        private static final int DEPTH = 4;
+        private static final long[] SEEDS = {
+            0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L
+        };
+
+        private final byte[][] rows;
+        private final int mask;
+        private final int sampleSize;
+        private int additions;
+
+        FrequencySketch(int maxSize) {
+            int width = Integer.highestOneBit(Math.max(16, maxSize) * 2 - 1) * 2;
+            this.rows = new byte[DEPTH][width];
+            this.mask = width - 1;
+            this.sampleSize = 10 * Math.max(1, maxSize);
+        }
+
+        void increment(long key) {
+            for (int row = 0; row < DEPTH; row++) {
+                int index = index(key, row);
+                if (rows[row][index] < 15) {
+                    rows[row][index]++;
+                }
+            }
+            if (++additions == sampleSize) {
+                for (byte[] counters : rows) {
+                    for (int i = 0; i < counters.length; i++) {
+                        counters[i] >>= 1;
+                    }
+                }
+                additions /= 2;
+            }
+        }
+
+        int frequency(long key) {
+            int min = 15;
+            for (int row = 0; row < DEPTH; row++) {
+                min = Math.min(min, rows[row][index(key, row)]);
+            }
+            return min;
+        }
+
+        private int index(long key, int row) {
+            long h = (key + SEEDS[row]) * SEEDS[row];
+            return (int) (h ^ (h >>> 32)) & mask;
+        }
+    }
+}
@@ -3,36 +3,121 @@ package com.zerooneblog.service;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zerooneblog.dto.CommentResponse;
+import com.zerooneblog.dto.PageCursor;
+import com.zerooneblog.dto.SerializedComment;
 import com.zerooneblog.model.Comment;
-import com.zerooneblog.model.Post;
 import com.zerooneblog.repository.CommentRepository;
+import com.zerooneblog.repository.PostRepository;
 
 @Service
 public class CommentService {
     @Autowired
     private CommentRepository commentRepository;
 
-    public List<Comment> getCommentsByPost(Post post) {
-        return commentRepository.findByPostOrderByCreatedAtDesc(post);
+    @Autowired
+    private PostCounterService postCounterService;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private CommentCache commentCache;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Keyset page of a post's comments, newest first, served from the comment cache as far as it
+     * covers the page, the rest by one projection query with the author fields joined in.
+     * Returns up to limit + 1 rows so callers can detect a next page.
+     */
+    public List<SerializedComment> getCommentsPage(Long postId, PageCursor cursor, int limit) {
+        List<SerializedComment> cached = commentCache.getPage(postId, cursor, limit + 1,
+            (after, count) -> findPage(postId, after, count));
+        if (cached != null) {
+            return cached;
+        }
+
+        long stamp = commentCache.stamp(postId);
+        if (!postRepository.existsById(postId)) {
+            throw new RuntimeException("Post not found");
+        }
+        // A first page also loads enough rows to offer the post's newest comments to the cache
+        int fetch = cursor.isStart() ? Math.max(limit + 1, commentCache.getSliceSize() + 1) : limit + 1;
+        List<SerializedComment> rows = findPage(postId, cursor, fetch);
+        if (cursor.isStart()) {
+            commentCache.put(postId, rows, stamp);
+        }
+        return rows.size() > limit + 1 ? rows.subList(0, limit + 1) : rows;
+    }
+
+    private List<SerializedComment> findPage(Long postId, PageCursor cursor, int count) {
+        return commentRepository.findResponsePage(postId, cursor.getCreatedAt(), cursor.getId(),
+                PageRequest.of(0, count)).stream()
+            .map(this::serialize)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Cursor pointing at a comment's position in (createdAt, id) order
+     */
+    public static PageCursor cursorOf(SerializedComment comment) {
+        return new PageCursor(comment.getCreatedAt(), comment.getId());
     }
 
     public Optional<Comment> getCommentById(Long id) {
         return commentRepository.findById(id);
     }
 
+    @Transactional
     public Comment createComment(Comment comment) {
-        return commentRepository.save(comment);
+        Comment savedComment = commentRepository.save(comment);
+        Long postId = savedComment.getPost().getId();
+        postCounterService.recordComment(postId, 1);
+        SerializedComment cached = serialize(toResponse(savedComment));
+        AfterCommit.run(() -> commentCache.onCommentAdded(postId, cached));
+        return savedComment;
     }
 
     public Comment updateComment(Comment comment) {
-        return commentRepository.save(comment);
+        Comment updatedComment = commentRepository.save(comment);
+        SerializedComment cached = serialize(toResponse(updatedComment));
+        AfterCommit.run(() -> commentCache.onCommentUpdated(updatedComment.getPost().getId(), cached));
+        return updatedComment;
     }
 
+    @Transactional
     public void deleteComment(Long id) {
-        commentRepository.deleteById(id);
+        commentRepository.findById(id).ifPresent(comment -> {
+            commentRepository.delete(comment);
+            Long postId = comment.getPost().getId();
+            postCounterService.recordComment(postId, -1);
+            AfterCommit.run(() -> commentCache.onCommentRemoved(postId, id));
+        });
+    }
+
+    private CommentResponse toResponse(Comment comment) {
+        return new CommentResponse(comment.getId(), comment.getContent(), comment.getCreatedAt(),
+            comment.getAuthor().getId(), comment.getAuthor().getUsername(), comment.getAuthor().getProfilePicture(),
+            comment.getPost().getId());
+    }
+
+    private SerializedComment serialize(CommentResponse comment) {
+        try {
+            return new SerializedComment(comment.getId(), comment.getCreatedAt(), comment.getAuthorId(),
+                objectMapper.writeValueAsString(comment));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize comment " + comment.getId(), e);
+        }
     }
-}
\ No newline at end of file
+}
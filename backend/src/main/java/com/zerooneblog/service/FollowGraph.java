@@ -0,0 +1,200 @@
+// backend/src/main/java/com/zerooneblog/service/FollowGraph.java
+package com.zerooneblog.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * In-memory follow graph, the read side for "who follows whom".
+ *
+ * user_subscriptions is the single stored form of the relationship; db/legacy-follows.sql
+ * merges the legacy follows table into it before Hibernate starts. At startup both directions
+ * are loaded into {@link AdjacencyList}s: following (user -> users they follow) and followers
+ * (user -> users following them). isFollowing is a binary search and counts are O(1).
+ * UserService keeps the graph in sync after each follow, unfollow or user deletion commits.
+ */
+@Service
+@DependsOn("entityManagerFactory") // user_subscriptions must exist before the first load
+public class FollowGraph {
+
+    private static final Logger logger = LoggerFactory.getLogger(FollowGraph.class);
+
+    private static final int LOAD_FETCH_SIZE = 10000;
+
+    private static final long[] NONE = new long[0];
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ConcurrentHashMap<Long, AdjacencyList> following = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, AdjacencyList> followers = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        // Streamed in key order so each user's list is built already sorted
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        long edges = transactionTemplate.execute(status -> {
+            load(following, "SELECT subscriber_id, subscribed_to_id FROM user_subscriptions ORDER BY subscriber_id, subscribed_to_id");
+            return load(followers, "SELECT subscribed_to_id, subscriber_id FROM user_subscriptions ORDER BY subscribed_to_id, subscriber_id");
+        });
+        logger.info("👥 Loaded follow graph: {} follows between {} users", edges, following.size());
+    }
+
+    public boolean isFollowing(Long followerId, Long followedId) {
+        AdjacencyList followed = following.get(followerId);
+        return followed != null && followed.contains(followedId);
+    }
+
+    /**
+     * The subset of the candidates that the viewer follows
+     */
+    public Set<Long> getFollowedAmong(Long viewerId, Collection<Long> candidateIds) {
+        Set<Long> followed = new HashSet<>();
+        AdjacencyList list = following.get(viewerId);
+        if (list == null) {
+            return followed;
+        }
+        for (Long candidateId : candidateIds) {
+            if (list.contains(candidateId)) {
+                followed.add(candidateId);
+            }
+        }
+        return followed;
+    }
+
+    public long getFollowerCount(Long userId) {
+        AdjacencyList list = followers.get(userId);
+        return list != null ? list.size() : 0;
+    }
+
+    public long getFollowingCount(Long userId) {
+        AdjacencyList list = following.get(userId);
+        return list != null ? list.size() : 0;
+    }
+
+    /**
+     * Ids of the user's followers, ascending
+     */
+    public long[] getFollowerIds(Long userId) {
+        AdjacencyList list = followers.get(userId);
+        return list != null ? list.toArray() : NONE;
+    }
+
+    /**
+     * Ids of the users the user follows, ascending
+     */
+    public long[] getFollowingIds(Long userId) {
+        AdjacencyList list = following.get(userId);
+        return list != null ? list.toArray() : NONE;
+    }
+
+    /**
+     * Up to into.length ids of the users the user follows, evenly spaced and ascending, without
+     * copying the whole list; returns how many were written
+     */
+    public int sampleFollowingIds(Long userId, long[] into) {
+        AdjacencyList list = following.get(userId);
+        return list != null ? list.sample(into) : 0;
+    }
+
+    /**
+     * Snapshot of the ids of users who follow at least one account
+     */
+    public List<Long> getUsersFollowingAnyone() {
+        return new ArrayList<>(following.keySet());
+    }
+
+    public void onFollow(Long followerId, Long followedId) {
+        AfterCommit.run(() -> {
+            link(following, followerId, followedId);
+            link(followers, followedId, followerId);
+        });
+    }
+
+    public void onUnfollow(Long followerId, Long followedId) {
+        AfterCommit.run(() -> {
+            unlink(following, followerId, followedId);
+            unlink(followers, followedId, followerId);
+        });
+    }
+
+    public void onUserDeleted(Long userId) {
+        AfterCommit.run(() -> {
+            AdjacencyList followed = following.remove(userId);
+            if (followed != null) {
+                for (long followedId : followed.toArray()) {
+                    unlink(followers, followedId, userId);
+                }
+            }
+            AdjacencyList followedBy = followers.remove(userId);
+            if (followedBy != null) {
+                for (long followerId : followedBy.toArray()) {
+                    unlink(following, followerId, userId);
+                }
+            }
+        });
+    }
+
+    private long load(ConcurrentHashMap<Long, AdjacencyList> lists, String sql) {
+        JdbcTemplate streaming = new JdbcTemplate(jdbcTemplate.getDataSource());
+        streaming.setFetchSize(LOAD_FETCH_SIZE);
+
+        long[] owner = { 0 };
+        long[][] buffer = { new long[64] };
+        int[] length = { 0 };
+        long[] edges = { 0 };
+        streaming.query(sql, rs -> {
+            long ownerId = rs.getLong(1);
+            if (ownerId != owner[0] && length[0] > 0) {
+                lists.put(owner[0], AdjacencyList.ofSorted(buffer[0], length[0]));
+                length[0] = 0;
+            }
+            owner[0] = ownerId;
+            if (length[0] == buffer[0].length) {
+                buffer[0] = Arrays.copyOf(buffer[0], length[0] * 2);
+            }
+            buffer[0][length[0]++] = rs.getLong(2);
+            edges[0]++;
+        });
+        if (length[0] > 0) {
+            lists.put(owner[0], AdjacencyList.ofSorted(buffer[0], length[0]));
+        }
+        return edges[0];
+    }
+
+    // Both run under the map's bin lock so an emptied list cannot be dropped while another edge is added to it
+    private static void link(ConcurrentHashMap<Long, AdjacencyList> lists, long ownerId, long otherId) {
+        lists.compute(ownerId, (id, list) -> {
+            AdjacencyList target = list != null ? list : new AdjacencyList();
+            target.add(otherId);
+            return target;
+        });
+    }
+
+    private static void unlink(ConcurrentHashMap<Long, AdjacencyList> lists, long ownerId, long otherId) {
+        lists.computeIfPresent(ownerId, (id, list) -> {
+            list.remove(otherId);
+            return list.size() == 0 ? null : list;
+        });
+    }
+}
@@ -0,0 +1,323 @@
+// backend/src/main/java/com/zerooneblog/service/FollowRecommender.java
+package com.zerooneblog.service;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * "Who to follow" suggestions computed from the {@link FollowGraph}.
+ *
+ * A candidate scores one point for each account the user follows that follows it
+ * (friends of friends), divided by ln(e + its follower count) so that accounts everyone
+ * already follows do not crowd out closer ones. Each user keeps only their top-K ids,
+ * so serving is a map lookup.
+ *
+ * Scores are computed on the recommender's own thread, so a long run never delays the
+ * jobs on Spring's shared scheduler thread. Each run works for at most tick-budget-ms:
+ * users whose own follows changed first, then a rolling sweep over everyone else so
+ * friends' changes are picked up too. Each computation samples at most max-fanout ids
+ * per followed account straight from the graph and counts at most max-candidates distinct
+ * candidates in a reused table, so the work and scratch memory per user stay fixed
+ * however large the graph grows.
+ */
+@Service
+public class FollowRecommender {
+
+    private static final Logger logger = LoggerFactory.getLogger(FollowRecommender.class);
+
+    private static final long[] NONE = new long[0];
+
+    @Autowired
+    private FollowGraph followGraph;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${recommendations.top-k:20}")
+    private int topK;
+
+    @Value("${recommendations.refresh-ms:5000}")
+    private long refreshMs;
+
+    // Time one run may spend recomputing users, changed users first
+    @Value("${recommendations.tick-budget-ms:200}")
+    private long tickBudgetMs;
+
+    @Value("${recommendations.max-fanout:1000}")
+    private int maxFanout;
+
+    @Value("${recommendations.max-candidates:65536}")
+    private int maxCandidates;
+
+    private final ConcurrentHashMap<Long, long[]> suggestions = new ConcurrentHashMap<>();
+    private final Set<Long> changed = ConcurrentHashMap.newKeySet();
+
+    // Only touched inside refresh()
+    private CandidateCounts counts;
+    private long[] friendIds;
+    private long[] candidateIds;
+    private Iterator<Long> sweep = List.<Long>of().iterator();
+
+    private ScheduledExecutorService scheduler;
+    private Timer computeTimer;
+
+    @PostConstruct
+    public void init() {
+        counts = new CandidateCounts(maxCandidates);
+        friendIds = new long[maxFanout];
+        candidateIds = new long[maxFanout];
+        computeTimer = Timer.builder("recommendations.compute")
+            .description("Time spent scoring one user's suggestions")
+            .register(meterRegistry);
+        Gauge.builder("recommendations.users", suggestions, ConcurrentHashMap::size)
+            .description("Users holding suggestions")
+            .register(meterRegistry);
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "follow-recommender");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                refresh();
+            } catch (RuntimeException e) {
+                // An exception escaping the task would cancel every later run
+                logger.error("❌ Suggestion refresh failed: {}", e.getMessage());
+            }
+        }, refreshMs, refreshMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * The user's suggested account ids, best first; may include accounts followed since the last run
+     */
+    public long[] getSuggestions(Long userId) {
+        long[] ids = suggestions.get(userId);
+        return ids != null ? ids : NONE;
+    }
+
+    /**
+     * Queue the user for recomputation once their follow or unfollow commits
+     */
+    public void onFollowChanged(Long userId) {
+        AfterCommit.run(() -> changed.add(userId));
+    }
+
+    public void onUserDeleted(Long userId) {
+        AfterCommit.run(() -> {
+            changed.remove(userId);
+            suggestions.remove(userId);
+        });
+    }
+
+    public synchronized void refresh() {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(tickBudgetMs);
+        Iterator<Long> pending = changed.iterator();
+        while (System.nanoTime() < deadline && pending.hasNext()) {
+            Long userId = pending.next();
+            pending.remove();
+            recompute(userId);
+        }
+
+        while (System.nanoTime() < deadline) {
+            if (!sweep.hasNext()) {
+                List<Long> users = followGraph.getUsersFollowingAnyone();
+                if (users.isEmpty()) {
+                    break;
+                }
+                logger.debug("🧭 Starting suggestion sweep over {} users", users.size());
+                sweep = users.iterator();
+            }
+            recompute(sweep.next());
+        }
+    }
+
+    private void recompute(Long userId) {
+        long started = System.nanoTime();
+        try {
+            long[] ids = score(userId);
+            if (ids.length == 0) {
+                suggestions.remove(userId);
+            } else {
+                suggestions.put(userId, ids);
+            }
+        } catch (Exception e) {
+            logger.error("❌ Failed to compute suggestions for user {}: {}", userId, e.getMessage());
+        } finally {
+            computeTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private long[] score(long userId) {
+        int friends = followGraph.sampleFollowingIds(userId, friendIds);
+        if (friends == 0) {
+            return NONE;
+        }
+
+        counts.clear();
+        for (int f = 0; f < friends; f++) {
+            int candidates = followGraph.sampleFollowingIds(friendIds[f], candidateIds);
+            for (int c = 0; c < candidates; c++) {
+                long candidateId = candidateIds[c];
+                if (candidateId != userId && !followGraph.isFollowing(userId, candidateId)) {
+                    counts.increment(candidateId);
+                }
+            }
+        }
+
+        // Min-heap of the best topK candidates seen so far
+        int size = 0;
+        long[] heapIds = new long[topK];
+        double[] heapScores = new double[topK];
+        for (int slot = 0; slot < counts.touched; slot++) {
+            long candidateId = counts.keyAt(slot);
+            double score = counts.countAt(slot) / Math.log(Math.E + followGraph.getFollowerCount(candidateId));
+            if (size < topK) {
+                heapIds[size] = candidateId;
+                heapScores[size] = score;
+                siftUp(heapIds, heapScores, size++);
+            } else if (score > heapScores[0]) {
+                heapIds[0] = candidateId;
+                heapScores[0] = score;
+                siftDown(heapIds, heapScores, size);
+            }
+        }
+
+        // Popping the min-heap from the back yields best first
+        long[] best = new long[size];
+        for (int i = size - 1; i >= 0; i--) {
+            best[i] = heapIds[0];
+            heapIds[0] = heapIds[i];
+            heapScores[0] = heapScores[i];
+            siftDown(heapIds, heapScores, i);
+        }
+        return best;
+    }
+
+    private static void siftUp(long[] ids, double[] scores, int index) {
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (scores[parent] <= scores[index]) {
+                return;
+            }
+            swap(ids, scores, parent, index);
+            index = parent;
+        }
+    }
+
+    private static void siftDown(long[] ids, double[] scores, int size) {
+        int index = 0;
+        while (true) {
+            int smallest = index;
+            int left = 2 * index + 1;
+            int right = left + 1;
+            if (left < size && scores[left] < scores[smallest]) {
+                smallest = left;
+            }
+            if (right < size && scores[right] < scores[smallest]) {
+                smallest = right;
+            }
+            if (smallest == index) {
+                return;
+            }
+            swap(ids, scores, smallest, index);
+            index = smallest;
+        }
+    }
+
+    private static void swap(long[] ids, double[] scores, int a, int b) {
+        long id = ids[a];
+        ids[a] = ids[b];
+        ids[b] = id;
+        double score = scores[a];
+        scores[a] = scores[b];
+        scores[b] = score;
+    }
+
+    /**
+     * Open-addressing candidate id -> count table, allocated once and reused for every user.
+     * Slots are handed out in insertion order, so clearing only resets the slots used.
+     * Once full, new candidates are ignored while known ones keep counting.
+     */
+    static final class CandidateCounts {
+
+        private final int capacity;
+        private final int mask;
+        private final int[] table;   // hash bucket -> slot + 1, 0 when empty
+        private final long[] keys;   // by slot
+        private final int[] counts;  // by slot
+        private final int[] buckets; // by slot, to clear the table
+        int touched;
+
+        CandidateCounts(int capacity) {
+            this.capacity = capacity;
+            int tableSize = Integer.highestOneBit(Math.max(2, capacity) * 2 - 1) * 2;
+            this.mask = tableSize - 1;
+            this.table = new int[tableSize];
+            this.keys = new long[capacity];
+            this.counts = new int[capacity];
+            this.buckets = new int[capacity];
+        }
+
+        void increment(long key) {
+            int bucket = hash(key) & mask;
+            while (table[bucket] != 0) {
+                int slot = table[bucket] - 1;
+                if (keys[slot] == key) {
+                    counts[slot]++;
+                    return;
+                }
+                bucket = (bucket + 1) & mask;
+            }
+            if (touched == capacity) {
+                return;
+            }
+            keys[touched] = key;
+            counts[touched] = 1;
+            buckets[touched] = bucket;
+            table[bucket] = ++touched;
+        }
+
+        long keyAt(int slot) {
+            return keys[slot];
+        }
+
+        int countAt(int slot) {
+            return counts[slot];
+        }
+
+        void clear() {
+            for (int slot = 0; slot < touched; slot++) {
+                table[buckets[slot]] = 0;
+            }
+            touched = 0;
+        }
+
+        private static int hash(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+}
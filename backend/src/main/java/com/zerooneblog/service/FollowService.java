@@ -1,26 +1,52 @@
 // backend/src/main/java/com/zerooneblog/service/FollowService.java
 package com.zerooneblog.service;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import com.zerooneblog.dto.FollowCountsResponse;
 import com.zerooneblog.dto.FollowResponse;
-import com.zerooneblog.model.Follow;
+import com.zerooneblog.dto.FollowUserResponse;
+import com.zerooneblog.dto.PageCursor;
 import com.zerooneblog.model.User;
-import com.zerooneblog.repository.FollowRepository;
+import com.zerooneblog.model.UserSubscription;
 import com.zerooneblog.repository.UserRepository;
+import com.zerooneblog.repository.UserSubscriptionRepository;
 
+/**
+ * The /api/follows flavour of following. It shares user_subscriptions and the
+ * {@link FollowGraph} with UserService, so both APIs see the same relationships.
+ */
 @Service
 public class FollowService {
+    // Upper bound on ids accepted by the batch lookups
+    public static final int MAX_BATCH_SIZE = 100;
+
     @Autowired
-    private FollowRepository followRepository;
+    private UserSubscriptionRepository userSubscriptionRepository;
 
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private FollowGraph followGraph;
+
+    @Autowired
+    private FollowRecommender followRecommender;
+
     public void followUser(Long followerId, Long followingId) {
         if (followerId.equals(followingId)) {
             throw new RuntimeException("Cannot follow yourself");
@@ -32,12 +58,11 @@ public class FollowService {
             .orElseThrow(() -> new RuntimeException("Following user not found"));
 
         // Check if already following
-        if (followRepository.existsByFollowerAndFollowing(follower, following)) {
+        if (followGraph.isFollowing(followerId, followingId)) {
             throw new RuntimeException("Already following this user");
         }
 
-        Follow follow = new Follow(follower, following);
-        followRepository.save(follow);
+        userService.followUser(follower, following);
     }
 
     public void unfollowUser(Long followerId, Long followingId) {
@@ -46,63 +71,143 @@ public class FollowService {
         User following = userRepository.findById(followingId)
             .orElseThrow(() -> new RuntimeException("Following user not found"));
 
-        Follow follow = followRepository.findByFollowerAndFollowing(follower, following)
-            .orElseThrow(() -> new RuntimeException("Follow relationship not found"));
+        if (!followGraph.isFollowing(followerId, followingId)) {
+            throw new RuntimeException("Follow relationship not found");
+        }
 
-        followRepository.delete(follow);
+        userService.unfollowUser(follower, following);
     }
 
-    public List<FollowResponse> getFollowers(Long userId) {
-        User user = userRepository.findById(userId)
-            .orElseThrow(() -> new RuntimeException("User not found"));
+    /**
+     * The user's most recent followers (at most limit), both users fetched in one query
+     */
+    public List<FollowResponse> getFollowers(Long userId, int limit) {
+        if (!userRepository.existsById(userId)) {
+            throw new RuntimeException("User not found");
+        }
 
-        return followRepository.findByFollowing(user).stream()
+        return userSubscriptionRepository.findWithUsersBySubscribedToId(userId, PageRequest.of(0, limit)).stream()
             .map(this::convertToFollowResponse)
             .collect(Collectors.toList());
     }
 
-    public List<FollowResponse> getFollowing(Long userId) {
-        User user = userRepository.findById(userId)
-            .orElseThrow(() -> new RuntimeException("User not found"));
+    /**
+     * The user's most recent follows (at most limit), both users fetched in one query
+     */
+    public List<FollowResponse> getFollowing(Long userId, int limit) {
+        if (!userRepository.existsById(userId)) {
+            throw new RuntimeException("User not found");
+        }
 
-        return followRepository.findByFollower(user).stream()
+        return userSubscriptionRepository.findWithUsersBySubscriberId(userId, PageRequest.of(0, limit)).stream()
             .map(this::convertToFollowResponse)
             .collect(Collectors.toList());
     }
 
+    /**
+     * Keyset page of a user's followers (or of the users they follow), most recent follow first,
+     * flagged with whether the viewer follows each of them.
+     * Returns up to limit + 1 rows so callers can detect a next page.
+     */
+    public List<FollowUserResponse> getFollowPage(Long userId, boolean followers, Long viewerId,
+                                                  PageCursor cursor, int limit) {
+        if (!userRepository.existsById(userId)) {
+            throw new RuntimeException("User not found");
+        }
+
+        PageRequest pageRequest = PageRequest.of(0, limit + 1);
+        List<FollowUserResponse> rows = followers
+            ? userSubscriptionRepository.findFollowerPage(userId, cursor.getCreatedAt(), cursor.getId(), pageRequest)
+            : userSubscriptionRepository.findFollowingPage(userId, cursor.getCreatedAt(), cursor.getId(), pageRequest);
+
+        Set<Long> followed = followGraph.getFollowedAmong(viewerId,
+            rows.stream().map(FollowUserResponse::getId).collect(Collectors.toList()));
+        rows.forEach(row -> row.setIsFollowedByCurrentUser(followed.contains(row.getId())));
+        return rows;
+    }
+
+    public static PageCursor cursorOf(FollowUserResponse row) {
+        return new PageCursor(row.getFollowedAt(), row.getSubscriptionId());
+    }
+
     public Long getFollowerCount(Long userId) {
-        User user = userRepository.findById(userId)
-            .orElseThrow(() -> new RuntimeException("User not found"));
-        return followRepository.countByFollowing(user);
+        if (!userRepository.existsById(userId)) {
+            throw new RuntimeException("User not found");
+        }
+        return followGraph.getFollowerCount(userId);
     }
 
     public Long getFollowingCount(Long userId) {
-        User user = userRepository.findById(userId)
-            .orElseThrow(() -> new RuntimeException("User not found"));
-        return followRepository.countByFollower(user);
+        if (!userRepository.existsById(userId)) {
+            throw new RuntimeException("User not found");
+        }
+        return followGraph.getFollowingCount(userId);
     }
 
     public boolean isFollowing(Long followerId, Long followingId) {
-        return followRepository.findByFollowerIdAndFollowingId(followerId, followingId).isPresent();
+        return followGraph.isFollowing(followerId, followingId);
+    }
+
+    /**
+     * Which of the candidates the viewer follows, answered from the follow graph without queries
+     */
+    public Set<Long> getFollowedAmong(Long viewerId, Collection<Long> candidateIds) {
+        return followGraph.getFollowedAmong(viewerId, candidateIds);
+    }
+
+    /**
+     * Follower/following counts from the follow graph; unknown ids count as zero
+     */
+    public FollowCountsResponse getFollowCounts(Long userId) {
+        return new FollowCountsResponse(userId, followGraph.getFollowerCount(userId), followGraph.getFollowingCount(userId));
+    }
+
+    public List<FollowCountsResponse> getFollowCounts(Collection<Long> userIds) {
+        return userIds.stream()
+            .distinct()
+            .map(this::getFollowCounts)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Up to limit suggested accounts for the user, best first. Suggestions are precomputed,
+     * so accounts followed since then are skipped, as are blocked ones.
+     */
+    public List<User> getSuggestedUsers(Long userId, int limit) {
+        List<Long> ids = new ArrayList<>();
+        for (long candidateId : followRecommender.getSuggestions(userId)) {
+            if (!followGraph.isFollowing(userId, candidateId)) {
+                ids.add(candidateId);
+            }
+        }
+
+        Map<Long, User> users = userRepository.findAllById(ids).stream()
+            .collect(Collectors.toMap(User::getId, Function.identity()));
+        return ids.stream()
+            .map(users::get)
+            .filter(Objects::nonNull)
+            .filter(user -> !user.isBlocked())
+            .limit(limit)
+            .collect(Collectors.toList());
     }
 
-    private FollowResponse convertToFollowResponse(Follow follow) {
+    private FollowResponse convertToFollowResponse(UserSubscription follow) {
         FollowResponse response = new FollowResponse();
         response.setId(follow.getId());
         response.setCreatedAt(follow.getCreatedAt());
 
         // Set follower info
         FollowResponse.UserResponse follower = new FollowResponse.UserResponse();
-        follower.setId(follow.getFollower().getId());
-        follower.setUsername(follow.getFollower().getUsername());
-        follower.setProfilePicture(follow.getFollower().getProfilePicture());
+        follower.setId(follow.getSubscriber().getId());
+        follower.setUsername(follow.getSubscriber().getUsername());
+        follower.setProfilePicture(follow.getSubscriber().getProfilePicture());
         response.setFollower(follower);
 
         // Set following info
         FollowResponse.UserResponse following = new FollowResponse.UserResponse();
-        following.setId(follow.getFollowing().getId());
-        following.setUsername(follow.getFollowing().getUsername());
-        following.setProfilePicture(follow.getFollowing().getProfilePicture());
+        following.setId(follow.getSubscribedTo().getId());
+        following.setUsername(follow.getSubscribedTo().getUsername());
+        following.setProfilePicture(follow.getSubscribedTo().getProfilePicture());
         response.setFollowing(following);
 
         return response;
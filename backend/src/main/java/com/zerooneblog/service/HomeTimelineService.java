@@ -0,0 +1,182 @@
+// backend/src/main/java/com/zerooneblog/service/HomeTimelineService.java
+package com.zerooneblog.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.zerooneblog.dto.PageCursor;
+import com.zerooneblog.model.Post;
+import com.zerooneblog.model.User;
+import com.zerooneblog.repository.HomeTimelineStateRepository;
+import com.zerooneblog.repository.PostRepository;
+import com.zerooneblog.repository.TimelineEntryRepository;
+import com.zerooneblog.repository.UserSubscriptionRepository;
+
+/**
+ * Materialized per-user home timeline.
+ *
+ * New posts are appended to every subscriber's timeline when they are created
+ * (fan-out-on-write). Authors with more subscribers than the heavy-author threshold
+ * are skipped on write; their posts are pulled at read time and merged into the page
+ * (fan-out-on-read). A feed page is therefore one index range read plus, at most,
+ * one bounded query over the heavy authors the reader follows.
+ */
+@Service
+public class HomeTimelineService {
+
+    private static final Logger logger = LoggerFactory.getLogger(HomeTimelineService.class);
+
+    private static final Comparator<Post> NEWEST_FIRST = Comparator
+        .comparing(Post::getCreatedAt, Comparator.reverseOrder())
+        .thenComparing(Post::getId, Comparator.reverseOrder());
+
+    @Autowired
+    private TimelineEntryRepository timelineEntryRepository;
+
+    @Autowired
+    private HomeTimelineStateRepository homeTimelineStateRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserSubscriptionRepository userSubscriptionRepository;
+
+    @Autowired
+    private FollowGraph followGraph;
+
+    @Value("${feed.fanout.heavy-author-threshold:5000}")
+    private long heavyAuthorThreshold;
+
+    @Value("${feed.timeline.backfill-size:200}")
+    private int backfillSize;
+
+    // Authors whose posts are served by fan-out-on-read. Membership is sticky: once an
+    // author stops being fanned out, followers' timelines no longer hold their new posts.
+    private final Set<Long> heavyAuthorIds = ConcurrentHashMap.newKeySet();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadHeavyAuthors() {
+        heavyAuthorIds.addAll(userSubscriptionRepository.findSubscribedToIdsWithMoreSubscribersThan(heavyAuthorThreshold));
+        logger.info("📰 Loaded {} heavy authors for fan-out-on-read", heavyAuthorIds.size());
+    }
+
+    /**
+     * Append a new post to the author's own timeline and, unless the author is heavy,
+     * to every subscriber's timeline
+     */
+    @Transactional
+    public void onPostCreated(Post post) {
+        Long authorId = post.getAuthor().getId();
+        timelineEntryRepository.append(authorId, post.getId(), authorId, post.getCreatedAt());
+
+        if (!heavyAuthorIds.contains(authorId)
+                && followGraph.getFollowerCount(authorId) > heavyAuthorThreshold) {
+            heavyAuthorIds.add(authorId);
+            logger.info("📰 Author {} switched to fan-out-on-read", authorId);
+        }
+        if (heavyAuthorIds.contains(authorId)) {
+            return;
+        }
+
+        int appended = timelineEntryRepository.fanOutToSubscribers(post.getId(), authorId, post.getCreatedAt());
+        logger.debug("📰 Fanned out post {} to {} timelines", post.getId(), appended);
+    }
+
+    /**
+     * Backfill the followed author's recent posts into the follower's timeline
+     */
+    @Transactional
+    public void onFollow(User follower, User author) {
+        if (!heavyAuthorIds.contains(author.getId())) {
+            timelineEntryRepository.backfillFromAuthor(follower.getId(), author.getId(), backfillSize);
+        }
+    }
+
+    /**
+     * Remove the unfollowed author's posts from the follower's timeline
+     */
+    @Transactional
+    public void onUnfollow(User follower, User author) {
+        timelineEntryRepository.deleteByUserIdAndAuthorId(follower.getId(), author.getId());
+    }
+
+    @Transactional
+    public void onPostDeleted(Long postId) {
+        timelineEntryRepository.deleteByPostId(postId);
+    }
+
+    @Transactional
+    public void onUserDeleted(Long userId) {
+        timelineEntryRepository.deleteByUserInvolved(userId);
+        homeTimelineStateRepository.deleteById(userId);
+        heavyAuthorIds.remove(userId);
+    }
+
+    /**
+     * Keyset page of the user's home feed. Returns up to limit + 1 rows so callers can detect a next page.
+     */
+    @Transactional
+    public List<Post> getFeedPage(User user, PageCursor cursor, int limit) {
+        Long userId = user.getId();
+        PageRequest pageRequest = PageRequest.of(0, limit + 1);
+
+        // Built on first read: fan-out may already have appended rows, so their presence says nothing
+        if (!homeTimelineStateRepository.existsById(userId)) {
+            timelineEntryRepository.rebuild(userId, backfillSize);
+            homeTimelineStateRepository.markBuilt(userId);
+        }
+
+        List<Post> page = timelineEntryRepository.findPage(userId, cursor.getCreatedAt(), cursor.getId(), pageRequest);
+        if (heavyAuthorIds.isEmpty()) {
+            return page;
+        }
+
+        List<Long> followedHeavyAuthors = new ArrayList<>();
+        for (Long authorId : heavyAuthorIds) {
+            if (followGraph.isFollowing(userId, authorId)) {
+                followedHeavyAuthors.add(authorId);
+            }
+        }
+        if (followedHeavyAuthors.isEmpty()) {
+            return page;
+        }
+
+        List<Post> pulled = postRepository.findVisiblePageByAuthorIdIn(
+            followedHeavyAuthors, cursor.getCreatedAt(), cursor.getId(), pageRequest);
+        return merge(page, pulled, limit + 1);
+    }
+
+    private List<Post> merge(List<Post> materialized, List<Post> pulled, int max) {
+        List<Post> all = new ArrayList<>(materialized.size() + pulled.size());
+        all.addAll(materialized);
+        all.addAll(pulled);
+        all.sort(NEWEST_FIRST);
+
+        Set<Long> seen = new HashSet<>();
+        List<Post> merged = new ArrayList<>(max);
+        for (Post post : all) {
+            if (merged.size() == max) {
+                break;
+            }
+            if (seen.add(post.getId())) {
+                merged.add(post);
+            }
+        }
+        return merged;
+    }
+}
@@ -0,0 +1,354 @@
+// backend/src/main/java/com/zerooneblog/service/LikeEngine.java
+package com.zerooneblog.service;
+
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.zerooneblog.config.BatchPool;
+import com.zerooneblog.model.Post;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * In-memory like engine for posts that are being liked.
+ *
+ * Each touched post gets a resident {@link PostLikeSet} loaded once from the likes table.
+ * Like/unlike requests dedupe against that set and return without touching Postgres;
+ * the resulting row changes are coalesced per (post, user), keeping only the latest, and
+ * written by a background batcher as JDBC batches. The denormalized like_count is
+ * advanced from the rows the batcher actually inserted or deleted, so it always agrees
+ * with the likes table. Idle posts are evicted once none of their writes are pending.
+ */
+@Service
+public class LikeEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(LikeEngine.class);
+
+    // Both statements re-check the post and user, which may have been deleted while the op was queued
+    private static final String INSERT_SQL =
+        "INSERT INTO likes (id, user_id, post_id, created_at) SELECT nextval('likes_id_seq'), ?, ?, ? " +
+        "WHERE EXISTS (SELECT 1 FROM posts WHERE id = ?) AND EXISTS (SELECT 1 FROM users WHERE id = ?) " +
+        "ON CONFLICT DO NOTHING";
+    private static final String DELETE_SQL = "DELETE FROM likes WHERE post_id = ? AND user_id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private PostCounterService postCounterService;
+
+    @Value("${likes.engine.max-resident-posts:10000}")
+    private int maxResidentPosts;
+
+    @Value("${likes.engine.idle-evict-ms:600000}")
+    private long idleEvictMs;
+
+    private TransactionTemplate transactionTemplate;
+
+    private final ConcurrentHashMap<Long, PostLikeSet> residents = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<LikeKey, PendingWrite> pending = new ConcurrentHashMap<>();
+
+    // Serializes batcher runs (scheduled flush, eviction and shutdown)
+    private final Object flushLock = new Object();
+
+    // Odd while a flush holds writes that are neither queued nor committed; see load()
+    private final AtomicLong flushSequence = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * @return true if this call added the like
+     * @throws RuntimeException if the post does not exist
+     */
+    public boolean like(Long postId, Long userId) {
+        return apply(resident(postId), new LikeKey(postId, userId), true);
+    }
+
+    /**
+     * @return true if this call removed the like
+     * @throws RuntimeException if the post does not exist
+     */
+    public boolean unlike(Long postId, Long userId) {
+        return apply(resident(postId), new LikeKey(postId, userId), false);
+    }
+
+    public boolean isLiked(Long postId, Long userId) {
+        PostLikeSet likes = residents.get(postId);
+        if (likes != null) {
+            return likes.contains(userId);
+        }
+        PendingWrite write = pending.get(new LikeKey(postId, userId));
+        if (write != null) {
+            return write.liked;
+        }
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+            "SELECT EXISTS (SELECT 1 FROM likes WHERE post_id = ? AND user_id = ?)", Boolean.class, postId, userId));
+    }
+
+    /**
+     * Correct a set of liked post ids read from the database with likes not written yet
+     */
+    public void applyPending(Long userId, Collection<Long> postIds, Set<Long> liked) {
+        if (residents.isEmpty() && pending.isEmpty()) {
+            return;
+        }
+        for (Long postId : postIds) {
+            PostLikeSet likes = residents.get(postId);
+            PendingWrite write = likes == null ? pending.get(new LikeKey(postId, userId)) : null;
+            boolean isLiked = likes != null ? likes.contains(userId)
+                : write != null ? write.liked
+                : liked.contains(postId);
+            if (isLiked) {
+                liked.add(postId);
+            } else {
+                liked.remove(postId);
+            }
+        }
+    }
+
+    /**
+     * Exact count for resident posts, otherwise the denormalized counter
+     */
+    public long getLikeCount(Post post) {
+        PostLikeSet likes = residents.get(post.getId());
+        return likes != null ? likes.size() : postCounterService.getLikeCount(post);
+    }
+
+    /**
+     * Drop the post's resident set and queued writes once its deletion commits
+     */
+    public void onPostDeleted(Long postId) {
+        AfterCommit.run(() -> {
+            residents.remove(postId);
+            pending.keySet().removeIf(key -> key.postId == postId);
+        });
+    }
+
+    /**
+     * Drop the user's likes from resident sets and queued writes once their deletion commits
+     */
+    public void onUserDeleted(Long userId) {
+        AfterCommit.run(() -> {
+            pending.keySet().removeIf(key -> key.userId == userId);
+            residents.values().forEach(likes -> likes.remove(userId));
+        });
+    }
+
+    @BatchPool
+    @Scheduled(fixedDelayString = "${likes.engine.flush-interval-ms:500}")
+    public void flush() {
+        synchronized (flushLock) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            flushSequence.incrementAndGet();
+            try {
+                List<Map.Entry<LikeKey, PendingWrite>> batch = new ArrayList<>();
+                for (Map.Entry<LikeKey, PendingWrite> entry : pending.entrySet()) {
+                    // A newer write for the same pair stays queued for the next run
+                    if (pending.remove(entry.getKey(), entry.getValue())) {
+                        batch.add(Map.entry(entry.getKey(), entry.getValue()));
+                    }
+                }
+                if (batch.isEmpty()) {
+                    return;
+                }
+                try {
+                    transactionTemplate.executeWithoutResult(status -> write(batch));
+                    logger.debug("❤️ Flushed {} like writes", batch.size());
+                } catch (Exception e) {
+                    logger.error("❌ Failed to flush {} like writes, retrying next cycle: {}", batch.size(), e.getMessage());
+                    for (Map.Entry<LikeKey, PendingWrite> entry : batch) {
+                        pending.putIfAbsent(entry.getKey(), entry.getValue());
+                    }
+                }
+            } finally {
+                flushSequence.incrementAndGet();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    /**
+     * Evict idle posts, then the least recently used ones while over the resident limit.
+     * Posts with queued writes stay resident so the set never loses an unwritten like.
+     */
+    @Scheduled(fixedDelayString = "${likes.engine.evict-interval-ms:60000}")
+    public void evict() {
+        synchronized (flushLock) {
+            Set<Long> busy = new HashSet<>();
+            pending.keySet().forEach(key -> busy.add(key.postId));
+
+            long idleBefore = System.currentTimeMillis() - idleEvictMs;
+            residents.entrySet().removeIf(entry ->
+                !busy.contains(entry.getKey()) && entry.getValue().getLastAccess() < idleBefore);
+
+            int excess = residents.size() - maxResidentPosts;
+            if (excess > 0) {
+                residents.entrySet().stream()
+                    .filter(entry -> !busy.contains(entry.getKey()))
+                    .sorted(Comparator.comparingLong(entry -> entry.getValue().getLastAccess()))
+                    .limit(excess)
+                    .map(Map.Entry::getKey)
+                    .toList()
+                    .forEach(residents::remove);
+            }
+        }
+    }
+
+    private void write(List<Map.Entry<LikeKey, PendingWrite>> batch) {
+        List<LikeKey> inserted = new ArrayList<>();
+        List<LikeKey> deleted = new ArrayList<>();
+        List<Object[]> insertArgs = new ArrayList<>();
+        List<Object[]> deleteArgs = new ArrayList<>();
+        for (Map.Entry<LikeKey, PendingWrite> entry : batch) {
+            LikeKey key = entry.getKey();
+            if (entry.getValue().liked) {
+                inserted.add(key);
+                insertArgs.add(new Object[] {
+                    key.userId, key.postId, Timestamp.valueOf(entry.getValue().at), key.postId, key.userId });
+            } else {
+                deleted.add(key);
+                deleteArgs.add(new Object[] { key.postId, key.userId });
+            }
+        }
+        recordApplied(inserted, insertArgs.isEmpty() ? new int[0] : jdbcTemplate.batchUpdate(INSERT_SQL, insertArgs), 1);
+        recordApplied(deleted, deleteArgs.isEmpty() ? new int[0] : jdbcTemplate.batchUpdate(DELETE_SQL, deleteArgs), -1);
+    }
+
+    // Only rows that changed move like_count; duplicates and vanished posts count for nothing
+    private void recordApplied(List<LikeKey> keys, int[] rowCounts, long delta) {
+        for (int i = 0; i < rowCounts.length; i++) {
+            if (rowCounts[i] > 0 || rowCounts[i] == Statement.SUCCESS_NO_INFO) {
+                postCounterService.recordLike(keys.get(i).postId, delta);
+            }
+        }
+    }
+
+    // The set change and its queued write happen under the pair's map bin lock, so racing
+    // like/unlike calls for the same pair queue their writes in the order they hit the set
+    private boolean apply(PostLikeSet likes, LikeKey key, boolean liked) {
+        boolean[] changed = new boolean[1];
+        pending.compute(key, (k, queued) -> {
+            changed[0] = liked ? likes.add(key.userId) : likes.remove(key.userId);
+            return changed[0] ? new PendingWrite(liked) : queued;
+        });
+        return changed[0];
+    }
+
+    private PostLikeSet resident(Long postId) {
+        PostLikeSet likes = residents.get(postId);
+        if (likes != null) {
+            return likes;
+        }
+        // Loaded outside the map so a large post does not block its hash bin while it loads
+        PostLikeSet loaded = load(postId);
+        PostLikeSet raced = residents.putIfAbsent(postId, loaded);
+        return raced != null ? raced : loaded;
+    }
+
+    /**
+     * The table read and the pending overlay must see every write in one of the two places. A flush
+     * that dequeues writes and commits them between the two steps hides them from both, so a load that
+     * overlapped a flush is repeated with flushes held off; the first attempt takes no lock, so a large
+     * post does not stall the batcher while it loads.
+     */
+    private PostLikeSet load(Long postId) {
+        Boolean exists = jdbcTemplate.queryForObject(
+            "SELECT EXISTS (SELECT 1 FROM posts WHERE id = ?)", Boolean.class, postId);
+        if (!Boolean.TRUE.equals(exists)) {
+            throw new RuntimeException("Post not found");
+        }
+
+        long sequence = flushSequence.get();
+        PostLikeSet likes = read(postId);
+        if ((sequence & 1) != 0 || flushSequence.get() != sequence) {
+            synchronized (flushLock) {
+                likes = read(postId);
+            }
+        }
+        return likes;
+    }
+
+    private PostLikeSet read(Long postId) {
+        PostLikeSet likes = new PostLikeSet();
+        jdbcTemplate.query("SELECT user_id FROM likes WHERE post_id = ?",
+            rs -> { likes.add(rs.getLong(1)); }, postId);
+
+        // Writes queued by a set that was evicted while in use are not in the table yet
+        pending.forEach((key, write) -> {
+            if (key.postId == postId) {
+                if (write.liked) {
+                    likes.add(key.userId);
+                } else {
+                    likes.remove(key.userId);
+                }
+            }
+        });
+        return likes;
+    }
+
+    private static final class LikeKey {
+        private final long postId;
+        private final long userId;
+
+        LikeKey(long postId, long userId) {
+            this.postId = postId;
+            this.userId = userId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof LikeKey)) return false;
+            LikeKey key = (LikeKey) o;
+            return postId == key.postId && userId == key.userId;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(postId * 31 + userId);
+        }
+    }
+
+    // Compared by identity, so a flush only dequeues the exact write it read
+    private static final class PendingWrite {
+        private final boolean liked;
+        private final LocalDateTime at = LocalDateTime.now();
+
+        PendingWrite(boolean liked) {
+            this.liked = liked;
+        }
+    }
+}
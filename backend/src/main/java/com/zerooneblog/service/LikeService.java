@@ -1,20 +1,23 @@
 // backend/src/main/java/com/zerooneblog/service/LikeService.java
 package com.zerooneblog.service;
 
-import java.time.LocalDateTime;
-import java.util.Optional;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
-import com.zerooneblog.model.Like;
 import com.zerooneblog.model.Post;
 import com.zerooneblog.model.User;
 import com.zerooneblog.repository.LikeRepository;
 
+/**
+ * Like/unlike requests are answered by the in-memory {@link LikeEngine};
+ * the likes table is written behind them in batches.
+ */
 @Service
 public class LikeService {
     
@@ -23,21 +26,14 @@ public class LikeService {
     @Autowired
     private LikeRepository likeRepository;
     
+    @Autowired
+    private LikeEngine likeEngine;
+    
     /**
      * Like a post
      */
-    @Transactional
     public void likePost(Post post, User user) {
-        // FIXED: Changed from findByPostAndUser to findByUserAndPost
-        Optional<Like> existingLike = likeRepository.findByUserAndPost(user, post);
-        
-        if (existingLike.isEmpty()) {
-            Like like = new Like();
-            like.setPost(post);
-            like.setUser(user);
-            like.setCreatedAt(LocalDateTime.now());
-            
-            likeRepository.save(like);
+        if (likeEngine.like(post.getId(), user.getId())) {
             logger.info("❤️ User {} liked post {}", user.getUsername(), post.getId());
         }
     }
@@ -45,54 +41,40 @@ public class LikeService {
     /**
      * Unlike a post
      */
-    @Transactional
     public void unlikePost(Post post, User user) {
-        // FIXED: Changed from findByPostAndUser to findByUserAndPost
-        Optional<Like> existingLike = likeRepository.findByUserAndPost(user, post);
-        
-        existingLike.ifPresent(like -> {
-            likeRepository.delete(like);
+        if (likeEngine.unlike(post.getId(), user.getId())) {
             logger.info("💔 User {} unliked post {}", user.getUsername(), post.getId());
-        });
+        }
     }
     
     /**
      * Check if a user has liked a post
      */
     public boolean hasUserLikedPost(Post post, User user) {
-        // FIXED: Changed from findByPostAndUser to findByUserAndPost
-        return likeRepository.findByUserAndPost(user, post).isPresent();
+        return likeEngine.isLiked(post.getId(), user.getId());
+    }
+    
+    /**
+     * Which of the given posts the user has liked, including likes not written to the table yet
+     */
+    public Set<Long> findLikedPostIds(Long userId, Collection<Long> postIds) {
+        Set<Long> liked = new HashSet<>(likeRepository.findLikedPostIds(userId, postIds));
+        likeEngine.applyPending(userId, postIds, liked);
+        return liked;
     }
     
     /**
      * Get the number of likes for a post
      */
     public Long getLikeCount(Post post) {
-        try {
-            Long count = likeRepository.countByPost(post);
-            return count != null ? count : 0L;
-        } catch (Exception e) {
-            logger.error("Error getting like count for post {}: {}", post.getId(), e.getMessage());
-            return 0L;
-        }
+        return likeEngine.getLikeCount(post);
     }
     
     /**
      * Like a post by IDs (for LikeController)
      */
-    @Transactional
     public void likePost(Long postId, Long userId) {
-        Optional<Like> existingLike = likeRepository.findByPostIdAndUserId(postId, userId);
-        
-        if (existingLike.isEmpty()) {
-            Like like = new Like();
-            like.setPost(new Post());
-            like.getPost().setId(postId);
-            like.setUser(new User());
-            like.getUser().setId(userId);
-            like.setCreatedAt(LocalDateTime.now());
-            
-            likeRepository.save(like);
+        if (likeEngine.like(postId, userId)) {
             logger.info("❤️ User ID {} liked post ID {}", userId, postId);
         }
     }
@@ -100,13 +82,9 @@ public class LikeService {
     /**
      * Unlike a post by IDs (for LikeController)
      */
-    @Transactional
     public void unlikePost(Long postId, Long userId) {
-        Optional<Like> existingLike = likeRepository.findByPostIdAndUserId(postId, userId);
-        
-        existingLike.ifPresent(like -> {
-            likeRepository.delete(like);
+        if (likeEngine.unlike(postId, userId)) {
             logger.info("💔 User ID {} unliked post ID {}", userId, postId);
-        });
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,133 @@
+// backend/src/main/java/com/zerooneblog/service/NotificationEventBus.java
+package com.zerooneblog.service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.zerooneblog.dto.NotificationResponse;
+
+/**
+ * In-process registry of open notification streams (Server-Sent Events), keyed by user.
+ *
+ * An idle stream is just a parked async request, so thousands of them cost no threads.
+ * Events carry the notification id as their SSE id, which lets a reconnecting browser
+ * resume with Last-Event-ID. Dead connections are detected by the periodic heartbeat.
+ */
+@Service
+public class NotificationEventBus {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationEventBus.class);
+
+    @Value("${notifications.stream.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${notifications.stream.max-connections-per-user:5}")
+    private int maxConnectionsPerUser;
+
+    private final ConcurrentHashMap<Long, CopyOnWriteArrayList<SseEmitter>> streams = new ConcurrentHashMap<>();
+
+    /**
+     * Open a stream for the user, closing their oldest one beyond the per-user limit
+     */
+    public SseEmitter subscribe(Long userId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        List<SseEmitter> evicted = new ArrayList<>();
+        // Registered inside compute so a concurrent remove() cannot drop the list being added to
+        streams.compute(userId, (id, userStreams) -> {
+            if (userStreams == null) {
+                userStreams = new CopyOnWriteArrayList<>();
+            }
+            userStreams.add(emitter);
+            while (userStreams.size() > maxConnectionsPerUser) {
+                evicted.add(userStreams.remove(0));
+            }
+            return userStreams;
+        });
+        evicted.forEach(SseEmitter::complete);
+
+        emitter.onCompletion(() -> remove(userId, emitter));
+        emitter.onTimeout(() -> remove(userId, emitter));
+        emitter.onError(e -> remove(userId, emitter));
+        return emitter;
+    }
+
+    /**
+     * The subset of the given users that currently have an open stream
+     */
+    public List<Long> connectedAmong(Collection<Long> userIds) {
+        List<Long> connected = new ArrayList<>();
+        if (streams.isEmpty()) {
+            return connected;
+        }
+        for (Long userId : userIds) {
+            if (streams.containsKey(userId)) {
+                connected.add(userId);
+            }
+        }
+        return connected;
+    }
+
+    /**
+     * Push a notification to every open stream of the user
+     */
+    public void publish(Long userId, NotificationResponse notification) {
+        List<SseEmitter> userStreams = streams.get(userId);
+        if (userStreams == null) {
+            return;
+        }
+        for (SseEmitter emitter : userStreams) {
+            send(userId, emitter, notification);
+        }
+    }
+
+    /**
+     * Push a notification to one stream (replay on connect)
+     */
+    public void send(Long userId, SseEmitter emitter, NotificationResponse notification) {
+        send(userId, emitter, SseEmitter.event()
+            .id(String.valueOf(notification.getId()))
+            .name("notification")
+            .data(notification));
+    }
+
+    public void sendUnreadCount(Long userId, SseEmitter emitter, long count) {
+        send(userId, emitter, SseEmitter.event().name("unread-count").data(count));
+    }
+
+    @Scheduled(fixedRateString = "${notifications.stream.heartbeat-ms:25000}")
+    public void heartbeat() {
+        streams.forEach((userId, userStreams) -> {
+            for (SseEmitter emitter : userStreams) {
+                send(userId, emitter, SseEmitter.event().comment("heartbeat"));
+            }
+        });
+    }
+
+    private void send(Long userId, SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            logger.debug("🔌 Dropping notification stream for user {}: {}", userId, e.getMessage());
+            remove(userId, emitter);
+            emitter.completeWithError(e);
+        }
+    }
+
+    private void remove(Long userId, SseEmitter emitter) {
+        streams.computeIfPresent(userId, (id, userStreams) -> {
+            userStreams.remove(emitter);
+            return userStreams.isEmpty() ? null : userStreams;
+        });
+    }
+}
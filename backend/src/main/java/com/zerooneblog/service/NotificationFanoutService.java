@@ -0,0 +1,258 @@
+// backend/src/main/java/com/zerooneblog/service/NotificationFanoutService.java
+package com.zerooneblog.service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.zerooneblog.config.PoolRoutingDataSource;
+import com.zerooneblog.config.PoolRoutingDataSource.Pool;
+import com.zerooneblog.dto.NotificationResponse;
+import com.zerooneblog.model.Notification.NotificationType;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Queued fan-out of "new post" notifications to the author's followers.
+ *
+ * Jobs are submitted after the post's transaction commits and run on a small worker pool,
+ * so creating a post no longer waits on one INSERT per follower. A job walks the followers
+ * in id order, one chunk at a time, and writes each chunk as a single JDBC batch in its own
+ * transaction; a failed chunk is retried with backoff before it is dropped. The queue is
+ * bounded: when it is full the submitting thread runs the job itself, which slows post
+ * creation down instead of growing memory without limit. Jobs use the batch connection pool.
+ */
+@Service
+public class NotificationFanoutService {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationFanoutService.class);
+
+    private static final String FOLLOWERS_SQL =
+        "SELECT subscriber_id FROM user_subscriptions " +
+        "WHERE subscribed_to_id = ? AND subscriber_id > ? ORDER BY subscriber_id LIMIT ?";
+    private static final String INSERT_SQL =
+        "INSERT INTO notifications (id, message, is_read, created_at, type, user_id, from_user_id, related_post_id) " +
+        "VALUES (nextval('notifications_id_seq'), ?, false, ?, ?, ?, ?, ?)";
+    private static final String NEW_POST_MESSAGE = "posted a new update";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private UnreadNotificationCounter unreadNotificationCounter;
+
+    @Autowired
+    private NotificationEventBus notificationEventBus;
+
+    @Value("${notifications.fanout.workers:2}")
+    private int workers;
+
+    @Value("${notifications.fanout.queue-capacity:1000}")
+    private int queueCapacity;
+
+    @Value("${notifications.fanout.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${notifications.fanout.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${notifications.fanout.retry-backoff-ms:500}")
+    private long retryBackoffMs;
+
+    private ThreadPoolExecutor executor;
+    private TransactionTemplate transactionTemplate;
+
+    private Timer batchTimer;
+    private Counter createdCounter;
+    private Counter failedCounter;
+    private Counter callerRunsCounter;
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+                Thread thread = new Thread(runnable, "notification-fanout-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            (job, pool) -> {
+                callerRunsCounter.increment();
+                if (!pool.isShutdown()) {
+                    job.run();
+                }
+            });
+
+        Gauge.builder("notifications.fanout.queue.depth", executor, pool -> pool.getQueue().size())
+            .description("Fan-out jobs waiting for a worker")
+            .register(meterRegistry);
+        batchTimer = Timer.builder("notifications.fanout.batch")
+            .description("Time to write one chunk of notifications")
+            .register(meterRegistry);
+        createdCounter = meterRegistry.counter("notifications.fanout.created");
+        failedCounter = meterRegistry.counter("notifications.fanout.failed");
+        callerRunsCounter = meterRegistry.counter("notifications.fanout.caller.runs");
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            logger.warn("⚠️ Notification fan-out stopped with {} jobs still queued", executor.getQueue().size());
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Queue POST notifications for every follower of the author, once the current transaction commits
+     */
+    public void enqueueNewPost(Long postId, Long authorId) {
+        AfterCommit.run(() -> executor.execute(() -> PoolRoutingDataSource.runOn(Pool.BATCH, () -> fanOut(postId, authorId))));
+    }
+
+    private void fanOut(Long postId, Long authorId) {
+        LocalDateTime createdAt = LocalDateTime.now();
+        long lastFollowerId = 0;
+        int total = 0;
+        while (true) {
+            List<Long> followerIds = jdbcTemplate.queryForList(
+                FOLLOWERS_SQL, Long.class, authorId, lastFollowerId, batchSize);
+            if (followerIds.isEmpty()) {
+                break;
+            }
+            if (!writeChunk(postId, authorId, followerIds, createdAt)) {
+                break;
+            }
+            total += followerIds.size();
+            lastFollowerId = followerIds.get(followerIds.size() - 1);
+            if (followerIds.size() < batchSize) {
+                break;
+            }
+        }
+        logger.info("🔔 Created {} POST notifications for post {}", total, postId);
+    }
+
+    /**
+     * @return false when the chunk could not be written and the job should stop
+     */
+    private boolean writeChunk(Long postId, Long authorId, List<Long> followerIds, LocalDateTime createdAt) {
+        List<Object[]> rows = new ArrayList<>(followerIds.size());
+        for (Long followerId : followerIds) {
+            rows.add(new Object[] {
+                NEW_POST_MESSAGE, Timestamp.valueOf(createdAt), NotificationType.POST.name(),
+                followerId, authorId, postId });
+        }
+
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            // The post may have been deleted while the job was queued
+            if (!postExists(postId)) {
+                logger.info("🔔 Post {} is gone, stopping its notification fan-out", postId);
+                return false;
+            }
+            try {
+                batchTimer.record(() -> transactionTemplate.executeWithoutResult(
+                    status -> jdbcTemplate.batchUpdate(INSERT_SQL, rows)));
+                createdCounter.increment(rows.size());
+                unreadNotificationCounter.increment(followerIds);
+                pushToConnected(postId, authorId, followerIds, createdAt);
+                return true;
+            } catch (Exception e) {
+                logger.warn("⚠️ Notification batch for post {} failed (attempt {}/{}): {}",
+                    postId, attempt, maxAttempts, e.getMessage());
+                if (attempt < maxAttempts && !sleep(retryBackoffMs * attempt)) {
+                    break;
+                }
+            }
+        }
+        failedCounter.increment(rows.size());
+        logger.error("❌ Dropped {} POST notifications for post {}", rows.size(), postId);
+        return false;
+    }
+
+    /**
+     * Push the chunk's new notifications to followers with an open stream.
+     * Ids are looked up only for those followers, so the cost follows the number of live connections.
+     */
+    private void pushToConnected(Long postId, Long authorId, List<Long> followerIds, LocalDateTime createdAt) {
+        List<Long> connected = notificationEventBus.connectedAmong(followerIds);
+        if (connected.isEmpty()) {
+            return;
+        }
+        try {
+            NotificationResponse.FromUser author = jdbcTemplate.queryForObject(
+                "SELECT id, username, profile_picture FROM users WHERE id = ?",
+                (rs, rowNum) -> {
+                    NotificationResponse.FromUser fromUser = new NotificationResponse.FromUser();
+                    fromUser.setId(rs.getLong("id"));
+                    fromUser.setUsername(rs.getString("username"));
+                    fromUser.setProfilePicture(rs.getString("profile_picture"));
+                    return fromUser;
+                }, authorId);
+
+            String placeholders = String.join(",", Collections.nCopies(connected.size(), "?"));
+            List<Object> args = new ArrayList<>(connected.size() + 1);
+            args.add(postId);
+            args.addAll(connected);
+            jdbcTemplate.query(
+                "SELECT id, user_id FROM notifications WHERE related_post_id = ? AND user_id IN (" + placeholders + ")",
+                rs -> {
+                    NotificationResponse notification = new NotificationResponse();
+                    notification.setId(rs.getLong("id"));
+                    notification.setMessage(NEW_POST_MESSAGE);
+                    notification.setCreatedAt(createdAt);
+                    notification.setType(NotificationType.POST.name().toLowerCase());
+                    notification.setRelatedPostId(postId);
+                    notification.setFromUser(author);
+                    notificationEventBus.publish(rs.getLong("user_id"), notification);
+                },
+                args.toArray());
+        } catch (Exception e) {
+            // Streams are best effort; clients still see the rows on their next fetch or resume
+            logger.warn("⚠️ Failed to push notifications for post {}: {}", postId, e.getMessage());
+        }
+    }
+
+    private boolean postExists(Long postId) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+            "SELECT EXISTS (SELECT 1 FROM posts WHERE id = ?)", Boolean.class, postId));
+    }
+
+    private boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
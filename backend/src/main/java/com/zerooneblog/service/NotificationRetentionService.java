@@ -0,0 +1,71 @@
+// backend/src/main/java/com/zerooneblog/service/NotificationRetentionService.java
+package com.zerooneblog.service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.zerooneblog.config.BatchPool;
+
+/**
+ * Nightly compaction of the notifications table.
+ *
+ * Read notifications older than the configured age are deleted in id-ordered batches,
+ * each its own short statement, so the job never holds long locks or builds one huge
+ * transaction. Unread notifications are never removed.
+ */
+@Service
+public class NotificationRetentionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationRetentionService.class);
+
+    private static final String DELETE_BATCH_SQL =
+        "DELETE FROM notifications WHERE id IN (" +
+        "SELECT id FROM notifications WHERE is_read = TRUE AND created_at < ? ORDER BY id LIMIT ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${notifications.retention.read-max-age-days:90}")
+    private int readMaxAgeDays;
+
+    @Value("${notifications.retention.batch-size:5000}")
+    private int batchSize;
+
+    @Value("${notifications.retention.pause-ms:50}")
+    private long pauseMs;
+
+    @BatchPool
+    @Scheduled(cron = "${notifications.retention.cron:0 0 4 * * *}")
+    public void purgeReadNotifications() {
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minusDays(readMaxAgeDays));
+        long deleted = 0;
+        int batch;
+        do {
+            batch = jdbcTemplate.update(DELETE_BATCH_SQL, cutoff, batchSize);
+            deleted += batch;
+            // Leave room for foreground traffic between batches
+            if (batch == batchSize && !pause()) {
+                break;
+            }
+        } while (batch == batchSize);
+        logger.info("🧹 Deleted {} read notifications older than {} days", deleted, readMaxAgeDays);
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(pauseMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -6,11 +6,14 @@ import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import com.zerooneblog.model.Notification;
-import com.zerooneblog.model.Notification.NotificationType;
+import com.zerooneblog.dto.NotificationResponse;
+import com.zerooneblog.dto.PageCursor;
 import com.zerooneblog.model.Post;
 import com.zerooneblog.model.User;
 import com.zerooneblog.repository.NotificationRepository;
@@ -23,106 +26,79 @@ public class NotificationService {
     @Autowired
     private NotificationRepository notificationRepository;
     
+    @Autowired
+    private NotificationFanoutService notificationFanoutService;
+    
+    @Autowired
+    private UnreadNotificationCounter unreadNotificationCounter;
+    
+    @Autowired
+    private NotificationEventBus notificationEventBus;
+    
+    @Value("${notifications.stream.replay-limit:100}")
+    private int replayLimit;
+    
     /**
-     * Creates notifications for all followers when a user creates a new post
+     * Queues notifications for all followers when a user creates a new post.
+     * The rows are written in batches by {@link NotificationFanoutService} after the post commits.
      */
-    @Transactional
     public void createNewPostNotification(Post post) {
-        try {
-            User author = post.getAuthor();
-            
-            logger.info("🚀 ========== STARTING NOTIFICATION CREATION ==========");
-            logger.info("📝 Post ID: {}", post.getId());
-            logger.info("👤 Author: {} (ID: {})", author.getUsername(), author.getId());
-            logger.info("📊 Author has {} subscribers", author.getSubscribers().size());
-            
-            // Get all users who are subscribed to the post author (followers)
-            List<User> followers = author.getSubscribers().stream()
-                .map(subscription -> {
-                    User follower = subscription.getSubscriber();
-                    logger.info("   👥 Follower found: {} (ID: {})", follower.getUsername(), follower.getId());
-                    return follower;
-                })
-                .toList();
-            
-            logger.info("📢 Creating POST notifications for {} followers of user {}", 
-                        followers.size(), author.getUsername());
-            
-            if (followers.isEmpty()) {
-                logger.warn("⚠️ No followers found! User {} has no subscribers.", author.getUsername());
-                logger.info("🔍 Checking subscribers directly:");
-                author.getSubscribers().forEach(sub -> {
-                    logger.info("   - Subscription: {} follows {}", 
-                        sub.getSubscriber().getUsername(), 
-                        sub.getSubscribedTo().getUsername());
-                });
-                return;
-            }
-            
-            // Create a notification for each follower
-            int successCount = 0;
-            for (User follower : followers) {
-                try {
-                    logger.info("   📤 Creating notification for: {}", follower.getUsername());
-                    
-                    Notification notification = new Notification();
-                    notification.setMessage("posted a new update");
-                    notification.setType(NotificationType.POST);
-                    notification.setUser(follower); // The user who will receive the notification
-                    notification.setFromUser(author); // The user who created the post
-                    notification.setRelatedPost(post);
-                    notification.setRead(false);
-                    
-                    Notification savedNotification = notificationRepository.save(notification);
-                    successCount++;
-                    
-                    logger.info("   ✅ Notification saved with ID: {} for user: {}", 
-                        savedNotification.getId(), follower.getUsername());
-                } catch (Exception e) {
-                    logger.error("   ❌ Failed to create notification for follower {}: {}", 
-                                follower.getUsername(), e.getMessage());
-                    e.printStackTrace();
-                }
+        notificationFanoutService.enqueueNewPost(post.getId(), post.getAuthor().getId());
+        logger.info("🔔 Queued POST notifications for post {}", post.getId());
+    }
+    
+    /**
+     * Open a notification stream for the user. Notifications after lastEventId are replayed
+     * first, then the current unread count is sent; new notifications are pushed as they are
+     * written. The stream is registered before the replay, so a notification written in
+     * between may arrive twice; clients dedupe on the event id.
+     */
+    public SseEmitter openStream(User user, Long lastEventId) {
+        SseEmitter emitter = notificationEventBus.subscribe(user.getId());
+        if (lastEventId != null) {
+            List<NotificationResponse> missed = notificationRepository.findResponsesAfter(
+                user.getId(), lastEventId, PageRequest.of(0, replayLimit));
+            for (NotificationResponse notification : missed) {
+                notificationEventBus.send(user.getId(), emitter, notification);
             }
-            
-            logger.info("✅ Successfully created {}/{} notifications", successCount, followers.size());
-            logger.info("🏁 ========== NOTIFICATION CREATION COMPLETE ==========");
-            
-        } catch (Exception e) {
-            logger.error("❌ CRITICAL ERROR in createNewPostNotification: {}", e.getMessage());
-            e.printStackTrace();
-            throw e;
         }
+        notificationEventBus.sendUnreadCount(user.getId(), emitter, unreadNotificationCounter.get(user.getId()));
+        return emitter;
     }
     
     /**
-     * Get all notifications for a user, ordered by most recent first
+     * Keyset page of a user's notifications (optionally unread only), newest first.
+     * Returns up to limit + 1 rows so callers can detect a next page.
      */
-    public List<Notification> getNotificationsByUser(User user) {
-        logger.info("📥 Fetching all notifications for user: {} (ID: {})", user.getUsername(), user.getId());
-        List<Notification> notifications = notificationRepository.findByUserOrderByCreatedAtDesc(user);
-        logger.info("✅ Found {} notifications for user: {}", notifications.size(), user.getUsername());
-        return notifications;
+    public List<NotificationResponse> getNotificationsPage(User user, boolean unreadOnly, PageCursor cursor, int limit) {
+        PageRequest pageRequest = PageRequest.of(0, limit + 1);
+        if (unreadOnly) {
+            return notificationRepository.findUnreadResponsePage(
+                user.getId(), cursor.getCreatedAt(), cursor.getId(), pageRequest);
+        }
+        return notificationRepository.findResponsePage(
+            user.getId(), cursor.getCreatedAt(), cursor.getId(), pageRequest);
     }
     
     /**
-     * Get only unread notifications for a user
+     * Keyset position of a notification, used to build the next-page cursor
      */
-    public List<Notification> getUnreadNotificationsByUser(User user) {
-        logger.info("📥 Fetching unread notifications for user: {} (ID: {})", user.getUsername(), user.getId());
-        List<Notification> notifications = notificationRepository.findByUserAndIsReadFalseOrderByCreatedAtDesc(user);
-        logger.info("✅ Found {} unread notifications for user: {}", notifications.size(), user.getUsername());
-        return notifications;
+    public static PageCursor cursorOf(NotificationResponse notification) {
+        return new PageCursor(notification.getCreatedAt(), notification.getId());
     }
     
     /**
      * Get count of unread notifications for a user
      */
     public Long getUnreadNotificationCount(User user) {
-        logger.info("📊 Counting unread notifications for user: {} (ID: {})", user.getUsername(), user.getId());
-        Long count = notificationRepository.countByUserAndIsReadFalse(user);
-        logger.info("✅ Unread count: {} for user: {}", count, user.getUsername());
-        return count;
+        return getUnreadNotificationCount(user.getId());
+    }
+    
+    /**
+     * Unread count by user ID; served from memory, so the badge poll needs no user lookup either
+     */
+    public Long getUnreadNotificationCount(Long userId) {
+        return unreadNotificationCounter.get(userId);
     }
     
     /**
@@ -134,6 +110,8 @@ public class NotificationService {
             if (!notification.isRead()) {
                 notification.setRead(true);
                 notificationRepository.save(notification);
+                Long userId = notification.getUser().getId();
+                AfterCommit.run(() -> unreadNotificationCounter.decrement(userId));
                 logger.info("✅ Marked notification {} as read", notificationId);
             }
         });
@@ -144,17 +122,11 @@ public class NotificationService {
      */
     @Transactional
     public void markAllNotificationsAsRead(User user) {
-        List<Notification> unreadNotifications = 
-            notificationRepository.findByUserAndIsReadFalse(user);
+        int updated = notificationRepository.markAllAsReadByUserId(user.getId());
         
-        if (!unreadNotifications.isEmpty()) {
-            for (Notification notification : unreadNotifications) {
-                notification.setRead(true);
-            }
-            
-            notificationRepository.saveAll(unreadNotifications);
-            logger.info("✅ Marked {} notifications as read for user {}", 
-                        unreadNotifications.size(), user.getUsername());
+        if (updated > 0) {
+            AfterCommit.run(() -> unreadNotificationCounter.reset(user.getId()));
+            logger.info("✅ Marked {} notifications as read for user {}", updated, user.getUsername());
         }
     }
     
@@ -164,7 +136,9 @@ public class NotificationService {
     @Transactional
     public void deleteNotificationsByPost(Long postId) {
         try {
+            List<Long> affectedUserIds = notificationRepository.findUnreadUserIdsByRelatedPostId(postId);
             notificationRepository.deleteByRelatedPostId(postId);
+            AfterCommit.run(() -> unreadNotificationCounter.invalidate(affectedUserIds));
             logger.info("🗑️ Deleted all notifications for post {}", postId);
         } catch (Exception e) {
             logger.error("❌ Failed to delete notifications for post {}: {}", postId, e.getMessage());
@@ -178,6 +152,7 @@ public class NotificationService {
     public void deleteNotificationsByUser(User user) {
         try {
             notificationRepository.deleteByUser(user);
+            AfterCommit.run(() -> unreadNotificationCounter.invalidate(List.of(user.getId())));
             logger.info("🗑️ Deleted all notifications for user {}", user.getUsername());
         } catch (Exception e) {
             logger.error("❌ Failed to delete notifications for user {}: {}", 
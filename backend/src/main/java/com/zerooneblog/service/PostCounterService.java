@@ -0,0 +1,214 @@
+// backend/src/main/java/com/zerooneblog/service/PostCounterService.java
+package com.zerooneblog.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.zerooneblog.config.BatchPool;
+import com.zerooneblog.model.Post;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Write-behind maintenance of the denormalized like_count / comment_count columns on posts.
+ *
+ * Deltas are accumulated per post in LongAdder cells (striped, so concurrent likes on a hot
+ * post do not contend on one counter) and flushed as one JDBC batch of
+ * "count = count + delta" updates. A periodic reconciliation recomputes the columns from the
+ * likes and comments tables to repair drift from bulk deletes or lost flushes.
+ *
+ * A delta is recorded inside the transaction that changes the rows and only becomes pending
+ * once it commits. Each such transaction holds the read side of recountLock until it completes,
+ * and a recount takes the write side, so a recount never sees a committed row whose delta has
+ * not been flushed yet and would be added on top of it.
+ */
+@Service
+public class PostCounterService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostCounterService.class);
+
+    private static final String FLUSH_LIKES_SQL = "UPDATE posts SET like_count = like_count + ? WHERE id = ?";
+    private static final String FLUSH_COMMENTS_SQL = "UPDATE posts SET comment_count = comment_count + ? WHERE id = ?";
+    private static final String RECONCILE_SQL =
+        "UPDATE posts p SET " +
+        "like_count = (SELECT COUNT(*) FROM likes l WHERE l.post_id = p.id), " +
+        "comment_count = (SELECT COUNT(*) FROM comments c WHERE c.post_id = p.id) " +
+        "WHERE p.id > ? AND p.id <= ?";
+
+    // Bounds how long a write waits for a recount, in case it holds a row lock the recount needs
+    private static final long RECOUNT_WAIT_SECONDS = 5;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${posts.counters.reconcile-batch-size:1000}")
+    private int reconcileBatchSize;
+
+    private final ConcurrentHashMap<Long, LongAdder> pendingLikes = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, LongAdder> pendingComments = new ConcurrentHashMap<>();
+
+    // Serializes flushes with reconciliation so a delta is never applied on top of a fresh recount
+    private final Object flushLock = new Object();
+
+    // Read side held by transactions with recorded deltas, from the record call until they complete
+    private final ReadWriteLock recountLock = new ReentrantReadWriteLock();
+
+    /**
+     * Record a like count change; applied once the surrounding transaction commits
+     */
+    public void recordLike(Long postId, long delta) {
+        record(pendingLikes, postId, delta);
+    }
+
+    /**
+     * Record a comment count change; applied once the surrounding transaction commits
+     */
+    public void recordComment(Long postId, long delta) {
+        record(pendingComments, postId, delta);
+    }
+
+    /**
+     * Persisted like count plus deltas that have not been flushed yet
+     */
+    public long getLikeCount(Post post) {
+        return post.getLikeCount() + pending(pendingLikes, post.getId());
+    }
+
+    /**
+     * Persisted comment count plus deltas that have not been flushed yet
+     */
+    public long getCommentCount(Post post) {
+        return post.getCommentCount() + pending(pendingComments, post.getId());
+    }
+
+    @BatchPool
+    @Scheduled(fixedDelayString = "${posts.counters.flush-interval-ms:1000}")
+    public void flush() {
+        synchronized (flushLock) {
+            flush(pendingLikes, FLUSH_LIKES_SQL);
+            flush(pendingComments, FLUSH_COMMENTS_SQL);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    /**
+     * Recompute both counters from the source tables, one id range at a time
+     */
+    @BatchPool
+    @Scheduled(cron = "${posts.counters.reconcile-cron:0 30 3 * * *}")
+    public void reconcile() {
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM posts", Long.class);
+        if (maxId == null) {
+            return;
+        }
+        long repaired = 0;
+        for (long from = 0; from < maxId; from += reconcileBatchSize) {
+            // Waits for counting transactions in flight to commit, then holds new ones at their
+            // record call, so every committed row's delta is flushed before the recount reads it
+            recountLock.writeLock().lock();
+            try {
+                synchronized (flushLock) {
+                    flush(pendingLikes, FLUSH_LIKES_SQL);
+                    flush(pendingComments, FLUSH_COMMENTS_SQL);
+                    repaired += jdbcTemplate.update(RECONCILE_SQL, from, from + reconcileBatchSize);
+                }
+            } finally {
+                recountLock.writeLock().unlock();
+            }
+        }
+        logger.info("🔢 Reconciled like/comment counters for {} posts", repaired);
+    }
+
+    private void record(ConcurrentHashMap<Long, LongAdder> cells, Long postId, long delta) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            add(cells, postId, delta);
+            return;
+        }
+        boolean locked;
+        try {
+            locked = recountLock.readLock().tryLock(RECOUNT_WAIT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            locked = false;
+        }
+        if (!locked) {
+            // The delta still applies; at worst the recount it raced counts it twice until the next one
+            logger.warn("⚠️ Counter recount still running after {}s, recording post {} without waiting", RECOUNT_WAIT_SECONDS, postId);
+            AfterCommit.run(() -> add(cells, postId, delta));
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                add(cells, postId, delta);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                recountLock.readLock().unlock();
+            }
+        });
+    }
+
+    private void add(ConcurrentHashMap<Long, LongAdder> cells, Long postId, long delta) {
+        LongAdder cell = cells.computeIfAbsent(postId, id -> new LongAdder());
+        cell.add(delta);
+        // The flusher may have retired this cell between lookup and add; move the delta to the live cell
+        while (cells.get(postId) != cell) {
+            long orphaned = cell.sumThenReset();
+            if (orphaned == 0) {
+                break;
+            }
+            cell = cells.computeIfAbsent(postId, id -> new LongAdder());
+            cell.add(orphaned);
+        }
+    }
+
+    private long pending(ConcurrentHashMap<Long, LongAdder> cells, Long postId) {
+        LongAdder cell = cells.get(postId);
+        return cell != null ? cell.sum() : 0;
+    }
+
+    private void flush(ConcurrentHashMap<Long, LongAdder> cells, String sql) {
+        List<Object[]> batch = new ArrayList<>();
+        for (Long postId : cells.keySet()) {
+            // Unmapped before it is drained, so add() moves a delta that lands on it afterwards to a new cell
+            LongAdder cell = cells.remove(postId);
+            long delta = cell != null ? cell.sumThenReset() : 0;
+            if (delta != 0) {
+                batch.add(new Object[] { delta, postId });
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            jdbcTemplate.batchUpdate(sql, batch);
+            logger.debug("🔢 Flushed {} counter deltas", batch.size());
+        } catch (Exception e) {
+            logger.error("❌ Failed to flush {} counter deltas, retrying next cycle: {}", batch.size(), e.getMessage());
+            for (Object[] row : batch) {
+                add(cells, (Long) row[1], (Long) row[0]);
+            }
+        }
+    }
+}
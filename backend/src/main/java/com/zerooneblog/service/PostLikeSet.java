@@ -0,0 +1,154 @@
+// backend/src/main/java/com/zerooneblog/service/PostLikeSet.java
+package com.zerooneblog.service;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The set of user ids that liked one post, as held by {@link LikeEngine}.
+ *
+ * Ids are spread over independently locked stripes of open-addressing long tables
+ * (8 bytes per liker instead of a boxed Long in a hash node), so a burst of likes on
+ * one post contends on 1/STRIPES of the set. The size is a LongAdder for the same reason.
+ * User ids are database identities and therefore never 0, which marks an empty slot.
+ */
+class PostLikeSet {
+
+    private static final int STRIPES = 16;
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    private final LongAdder size = new LongAdder();
+    private volatile long lastAccess = System.currentTimeMillis();
+
+    PostLikeSet() {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    /**
+     * @return true if the user had not liked the post yet
+     */
+    boolean add(long userId) {
+        touch();
+        if (stripeFor(userId).add(userId)) {
+            size.increment();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return true if the user had liked the post
+     */
+    boolean remove(long userId) {
+        touch();
+        if (stripeFor(userId).remove(userId)) {
+            size.decrement();
+            return true;
+        }
+        return false;
+    }
+
+    boolean contains(long userId) {
+        touch();
+        return stripeFor(userId).contains(userId);
+    }
+
+    long size() {
+        return size.sum();
+    }
+
+    long getLastAccess() {
+        return lastAccess;
+    }
+
+    private void touch() {
+        lastAccess = System.currentTimeMillis();
+    }
+
+    private Stripe stripeFor(long userId) {
+        return stripes[(int) (mix(userId) >>> 60)];
+    }
+
+    // MurmurHash3 finalizer: the top bits pick the stripe, the low bits the slot
+    private static long mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return key;
+    }
+
+    /**
+     * Linear-probing long hash set guarded by its own monitor
+     */
+    private static final class Stripe {
+        private long[] table = new long[8];
+        private int count;
+
+        synchronized boolean add(long key) {
+            int slot = find(table, key);
+            if (table[slot] == key) {
+                return false;
+            }
+            table[slot] = key;
+            if (++count * 4 > table.length * 3) {
+                resize();
+            }
+            return true;
+        }
+
+        synchronized boolean remove(long key) {
+            int mask = table.length - 1;
+            int hole = find(table, key);
+            if (table[hole] != key) {
+                return false;
+            }
+            // Backward-shift deletion keeps every probe chain unbroken without tombstones
+            int next = hole;
+            while (true) {
+                next = (next + 1) & mask;
+                long moved = table[next];
+                if (moved == 0) {
+                    break;
+                }
+                int home = (int) mix(moved) & mask;
+                boolean homeInGap = hole <= next
+                    ? home > hole && home <= next
+                    : home > hole || home <= next;
+                if (!homeInGap) {
+                    table[hole] = moved;
+                    hole = next;
+                }
+            }
+            table[hole] = 0;
+            count--;
+            return true;
+        }
+
+        synchronized boolean contains(long key) {
+            return table[find(table, key)] == key;
+        }
+
+        private void resize() {
+            long[] grown = new long[table.length * 2];
+            for (long key : table) {
+                if (key != 0) {
+                    grown[find(grown, key)] = key;
+                }
+            }
+            table = grown;
+        }
+
+        // Slot holding the key, or the empty slot where it would be inserted
+        private static int find(long[] table, long key) {
+            int mask = table.length - 1;
+            int slot = (int) mix(key) & mask;
+            while (table[slot] != 0 && table[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+    }
+}
@@ -0,0 +1,365 @@
+// backend/src/main/java/com/zerooneblog/service/PostSearchIndex.java
+package com.zerooneblog.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.zerooneblog.config.BatchPool;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * In-process inverted index over post content, for full-text post search.
+ *
+ * Each term maps to the posts containing it and the term's positions in each, which is
+ * enough for BM25 ranking and for "quoted phrase" matching. Posts are tokenized on
+ * letters and digits, lowercased, without stemming.
+ *
+ * Writers never touch the index: PostService and UserService queue post ids after their
+ * transaction commits, and a scheduled indexer re-reads those posts in batches and
+ * reindexes or drops them. Search results may therefore lag a write by about one
+ * refresh interval.
+ */
+@Service
+@DependsOn("entityManagerFactory") // posts must exist before the first load
+public class PostSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostSearchIndex.class);
+
+    private static final String SELECT_POSTS = "SELECT id, user_id, content, is_hidden FROM posts";
+
+    private static final Comparator<ScoredPost> WORST_FIRST = (a, b) ->
+        isBetter(a.score, a.postId, b) ? 1 : isBetter(b.score, b.postId, a) ? -1 : 0;
+
+    private static final Pattern QUERY_PART = Pattern.compile("\"([^\"]*)\"|([^\\s\"]+)");
+
+    private static final int MAX_TERM_LENGTH = 64;
+    private static final int LOAD_FETCH_SIZE = 1000;
+
+    // BM25 parameters
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${search.posts.max-hits:1000}")
+    private int maxHits;
+
+    @Value("${search.posts.batch-size:500}")
+    private int batchSize;
+
+    private final ConcurrentHashMap<Long, Doc> docs = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, ConcurrentHashMap<Long, int[]>> postings = new ConcurrentHashMap<>();
+    private final AtomicLong totalLength = new AtomicLong();
+
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    public void init() {
+        JdbcTemplate streaming = new JdbcTemplate(jdbcTemplate.getDataSource());
+        streaming.setFetchSize(LOAD_FETCH_SIZE);
+        streaming.query(SELECT_POSTS, rs -> {
+            index(rs.getLong(1), rs.getLong(2), rs.getString(3), rs.getBoolean(4));
+        });
+        logger.info("🔎 Indexed {} posts ({} terms) for search", docs.size(), postings.size());
+    }
+
+    /**
+     * Queue the post for reindexing once the surrounding transaction commits; also used for deletions
+     */
+    public void onPostChanged(Long postId) {
+        AfterCommit.run(() -> pending.add(postId));
+    }
+
+    /**
+     * Queue every indexed post of the author, whose posts are deleted along with them
+     */
+    public void onAuthorDeleted(Long authorId) {
+        AfterCommit.run(() -> docs.forEach((postId, doc) -> {
+            if (doc.authorId == authorId) {
+                pending.add(postId);
+            }
+        }));
+    }
+
+    /**
+     * Ids of posts matching the query that the viewer may see, best first, at most search.posts.max-hits.
+     * Every "quoted phrase" must appear; otherwise a post needs at least one of the terms.
+     * Hidden posts are only included for their author or when includeHidden is set.
+     */
+    public List<Long> search(String query, Long viewerId, boolean includeHidden) {
+        List<List<String>> phrases = new ArrayList<>();
+        Set<String> terms = new LinkedHashSet<>();
+        Matcher matcher = QUERY_PART.matcher(query == null ? "" : query);
+        while (matcher.find()) {
+            List<String> tokens = tokenize(matcher.group(1) != null ? matcher.group(1) : matcher.group(2));
+            if (matcher.group(1) != null && tokens.size() > 1) {
+                phrases.add(tokens);
+            }
+            terms.addAll(tokens);
+        }
+        if (terms.isEmpty() || docs.isEmpty()) {
+            return List.of();
+        }
+
+        Set<Long> required = null;
+        for (List<String> phrase : phrases) {
+            required = matchPhrase(phrase, required);
+            if (required.isEmpty()) {
+                return List.of();
+            }
+        }
+
+        double averageLength = Math.max(1.0, (double) totalLength.get() / Math.max(1, docs.size()));
+        List<Map<Long, int[]>> termPostings = new ArrayList<>(terms.size());
+        List<Double> idfs = new ArrayList<>(terms.size());
+        for (String term : terms) {
+            Map<Long, int[]> posts = postings.get(term);
+            if (posts != null) {
+                termPostings.add(posts);
+                idfs.add(Math.log(1 + (docs.size() - posts.size() + 0.5) / (posts.size() + 0.5)));
+            }
+        }
+
+        // Document at a time: each visible post is scored once, across all terms, and offered
+        // to a min-heap of the best maxHits, so nothing per match is kept or sorted
+        PriorityQueue<ScoredPost> best = new PriorityQueue<>(WORST_FIRST);
+        for (int first = 0; first < termPostings.size(); first++) {
+            Iterable<Long> candidates = required != null ? required : termPostings.get(first).keySet();
+            for (Long postId : candidates) {
+                if (required == null && containsEarlier(termPostings, first, postId)) {
+                    continue; // already scored with an earlier term
+                }
+                Doc doc = docs.get(postId);
+                if (doc == null || !isVisible(doc, viewerId, includeHidden)) {
+                    continue;
+                }
+                double norm = K1 * (1 - B + B * doc.length / averageLength);
+                double score = 0;
+                for (int t = first; t < termPostings.size(); t++) {
+                    int[] positions = termPostings.get(t).get(postId);
+                    if (positions != null) {
+                        double tf = positions.length;
+                        score += idfs.get(t) * tf * (K1 + 1) / (tf + norm);
+                    }
+                }
+                if (score > 0) {
+                    offer(best, postId, score);
+                }
+            }
+            if (required != null) {
+                break; // the phrase matches were the candidates for every term
+            }
+        }
+
+        Long[] ids = new Long[best.size()];
+        for (int i = ids.length - 1; i >= 0; i--) {
+            ids[i] = best.poll().postId;
+        }
+        // A post reindexed mid-query can be scored twice; keep its better entry
+        return new ArrayList<>(new LinkedHashSet<>(Arrays.asList(ids)));
+    }
+
+    private void offer(PriorityQueue<ScoredPost> best, long postId, double score) {
+        if (best.size() < maxHits) {
+            best.add(new ScoredPost(postId, score));
+        } else if (maxHits > 0 && isBetter(score, postId, best.peek())) {
+            best.poll();
+            best.add(new ScoredPost(postId, score));
+        }
+    }
+
+    private static boolean containsEarlier(List<Map<Long, int[]>> termPostings, int term, Long postId) {
+        for (int t = 0; t < term; t++) {
+            if (termPostings.get(t).containsKey(postId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Higher score first, then newer (higher) id
+    private static boolean isBetter(double score, long postId, ScoredPost other) {
+        int byScore = Double.compare(score, other.score);
+        return byScore != 0 ? byScore > 0 : postId > other.postId;
+    }
+
+    @BatchPool
+    @Scheduled(fixedDelayString = "${search.posts.refresh-ms:1000}")
+    public synchronized void refresh() {
+        List<Long> batch = new ArrayList<>();
+        Iterator<Long> queued = pending.iterator();
+        while (batch.size() < batchSize && queued.hasNext()) {
+            batch.add(queued.next());
+            queued.remove();
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            Set<Long> found = new HashSet<>();
+            String placeholders = String.join(",", Collections.nCopies(batch.size(), "?"));
+            jdbcTemplate.query(SELECT_POSTS + " WHERE id IN (" + placeholders + ")", rs -> {
+                long postId = rs.getLong(1);
+                found.add(postId);
+                index(postId, rs.getLong(2), rs.getString(3), rs.getBoolean(4));
+            }, batch.toArray());
+            for (Long postId : batch) {
+                if (!found.contains(postId)) {
+                    remove(postId);
+                }
+            }
+            logger.debug("🔎 Reindexed {} posts", batch.size());
+        } catch (Exception e) {
+            logger.error("❌ Failed to reindex {} posts, retrying next cycle: {}", batch.size(), e.getMessage());
+            pending.addAll(batch);
+        }
+    }
+
+    private void index(long postId, long authorId, String content, boolean hidden) {
+        remove(postId);
+
+        List<String> tokens = tokenize(content);
+        Map<String, List<Integer>> positions = new HashMap<>();
+        for (int i = 0; i < tokens.size(); i++) {
+            positions.computeIfAbsent(tokens.get(i), term -> new ArrayList<>()).add(i);
+        }
+        for (Map.Entry<String, List<Integer>> entry : positions.entrySet()) {
+            int[] termPositions = entry.getValue().stream().mapToInt(Integer::intValue).toArray();
+            postings.computeIfAbsent(entry.getKey(), term -> new ConcurrentHashMap<>()).put(postId, termPositions);
+        }
+        docs.put(postId, new Doc(authorId, hidden, tokens.size(), positions.keySet().toArray(new String[0])));
+        totalLength.addAndGet(tokens.size());
+    }
+
+    private void remove(long postId) {
+        Doc doc = docs.remove(postId);
+        if (doc == null) {
+            return;
+        }
+        totalLength.addAndGet(-doc.length);
+        for (String term : doc.terms) {
+            postings.computeIfPresent(term, (key, posts) -> {
+                posts.remove(postId);
+                return posts.isEmpty() ? null : posts;
+            });
+        }
+    }
+
+    // Posts (among the candidates, if any) containing the tokens at consecutive positions
+    private Set<Long> matchPhrase(List<String> phrase, Set<Long> candidates) {
+        List<Map<Long, int[]>> lists = new ArrayList<>(phrase.size());
+        for (String token : phrase) {
+            Map<Long, int[]> posts = postings.get(token);
+            if (posts == null) {
+                return Set.of();
+            }
+            lists.add(posts);
+        }
+
+        Set<Long> matches = new HashSet<>();
+        Iterable<Long> scan = candidates != null ? candidates : lists.get(0).keySet();
+        for (Long postId : scan) {
+            int[] starts = lists.get(0).get(postId);
+            if (starts != null && hasPhraseAt(lists, postId, starts)) {
+                matches.add(postId);
+            }
+        }
+        return matches;
+    }
+
+    private static boolean hasPhraseAt(List<Map<Long, int[]>> lists, Long postId, int[] starts) {
+        int[][] following = new int[lists.size()][];
+        for (int i = 1; i < lists.size(); i++) {
+            following[i] = lists.get(i).get(postId);
+            if (following[i] == null) {
+                return false;
+            }
+        }
+        for (int start : starts) {
+            boolean matched = true;
+            for (int i = 1; i < following.length && matched; i++) {
+                matched = Arrays.binarySearch(following[i], start + i) >= 0;
+            }
+            if (matched) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isVisible(Doc doc, Long viewerId, boolean includeHidden) {
+        return !doc.hidden || includeHidden || (viewerId != null && doc.authorId == viewerId);
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                if (i - start <= MAX_TERM_LENGTH) {
+                    tokens.add(lower.substring(start, i));
+                }
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private static final class ScoredPost {
+        private final long postId;
+        private final double score;
+
+        ScoredPost(long postId, double score) {
+            this.postId = postId;
+            this.score = score;
+        }
+    }
+
+    private static final class Doc {
+        private final long authorId;
+        private final boolean hidden;
+        private final int length;
+        private final String[] terms;
+
+        Doc(long authorId, boolean hidden, int length, String[] terms) {
+            this.authorId = authorId;
+            this.hidden = hidden;
+            this.length = length;
+            this.terms = terms;
+        }
+    }
+}
@@ -1,25 +1,41 @@
 // backend/src/main/java/com/zerooneblog/service/PostService.java
 package com.zerooneblog.service;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
+import org.hibernate.Hibernate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.zerooneblog.dto.PageCursor;
 import com.zerooneblog.dto.PostResponse;
+import com.zerooneblog.dto.SearchPage;
 import com.zerooneblog.model.Post;
+import com.zerooneblog.model.PostMedia;
 import com.zerooneblog.model.User;
 import com.zerooneblog.repository.PostRepository;
+import com.zerooneblog.repository.UserRepository;
 
 @Service
 public class PostService {
     
     private static final Logger logger = LoggerFactory.getLogger(PostService.class);
     
+    // Ids per IN list; the PostgreSQL driver rejects statements with more than 65535 bind parameters
+    private static final int IN_LIST_CHUNK_SIZE = 1000;
+    
     @Autowired
     private PostRepository postRepository;
     
@@ -32,6 +48,24 @@ public class PostService {
     @Autowired
     private CommentService commentService;
     
+    @Autowired
+    private HomeTimelineService homeTimelineService;
+    
+    @Autowired
+    private LikeEngine likeEngine;
+    
+    @Autowired
+    private PostCounterService postCounterService;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private PostSearchIndex postSearchIndex;
+    
+    @Autowired
+    private CommentCache commentCache;
+    
     /**
      * Create a new post and send notifications to followers
      */
@@ -41,11 +75,13 @@ public class PostService {
         Post savedPost = postRepository.save(post);
         logger.info("✅ Post saved with ID: {}", savedPost.getId());
         
-        // 🚨 CRITICAL: Create notifications for all followers
-        logger.info("🔔 About to create notifications for followers...");
+        // Append to followers' home timelines
+        homeTimelineService.onPostCreated(savedPost);
+        postSearchIndex.onPostChanged(savedPost.getId());
+        
+        // Queue notifications for all followers (written in batches after commit)
         try {
             notificationService.createNewPostNotification(savedPost);
-            logger.info("✅ Notification creation completed");
         } catch (Exception e) {
             logger.error("❌ FAILED to create notifications: {}", e.getMessage());
             e.printStackTrace();
@@ -61,6 +97,7 @@ public class PostService {
     @Transactional
     public Post updatePost(Post post) {
         Post updatedPost = postRepository.save(post);
+        postSearchIndex.onPostChanged(updatedPost.getId());
         logger.info("✅ Post {} updated successfully", updatedPost.getId());
         return updatedPost;
     }
@@ -80,6 +117,11 @@ public class PostService {
             logger.error("⚠️ Failed to delete notifications for post {}: {}", postId, e.getMessage());
         }
         
+        homeTimelineService.onPostDeleted(postId);
+        likeEngine.onPostDeleted(postId);
+        postSearchIndex.onPostChanged(postId);
+        commentCache.onPostDeleted(postId);
+        
         // Then delete the post (this will cascade delete comments and likes due to JPA mappings)
         postRepository.deleteById(postId);
         logger.info("✅ Post {} deleted successfully", postId);
@@ -92,6 +134,7 @@ public class PostService {
                 .orElseThrow(() -> new RuntimeException("Post not found"));
         post.setHidden(true);
         postRepository.save(post);
+        postSearchIndex.onPostChanged(postId);
         logger.info("✅ Post {} has been hidden", postId);
     }
 
@@ -102,6 +145,7 @@ public class PostService {
                 .orElseThrow(() -> new RuntimeException("Post not found"));
         post.setHidden(false);
         postRepository.save(post);
+        postSearchIndex.onPostChanged(postId);
         logger.info("✅ Post {} has been unhidden", postId);
     }
     
@@ -133,34 +177,178 @@ public class PostService {
         return postRepository.findByAuthorInOrderByCreatedAtDesc(users);
     }
     
+    /**
+     * Get all posts, optionally excluding hidden ones in the query
+     */
+    public List<Post> getAllPosts(boolean includeHidden) {
+        return includeHidden
+            ? postRepository.findAllByOrderByCreatedAtDesc()
+            : postRepository.findByIsHiddenFalseOrderByCreatedAtDesc();
+    }
+    
+    /**
+     * Get posts by a specific user, optionally excluding hidden ones in the query
+     */
+    public List<Post> getPostsByUser(User user, boolean includeHidden) {
+        return includeHidden
+            ? postRepository.findByAuthorOrderByCreatedAtDesc(user)
+            : postRepository.findByAuthorAndIsHiddenFalseOrderByCreatedAtDesc(user);
+    }
+    
+    /**
+     * Keyset page over all posts. Returns up to limit + 1 rows so callers can detect a next page.
+     */
+    public List<Post> getPostsPage(boolean includeHidden, PageCursor cursor, int limit) {
+        return postRepository.findPage(includeHidden, cursor.getCreatedAt(), cursor.getId(),
+            PageRequest.of(0, limit + 1));
+    }
+    
+    /**
+     * Keyset page over a user's posts. Returns up to limit + 1 rows.
+     */
+    public List<Post> getPostsByUserPage(User user, boolean includeHidden, PageCursor cursor, int limit) {
+        return postRepository.findPageByAuthor(user, includeHidden, cursor.getCreatedAt(), cursor.getId(),
+            PageRequest.of(0, limit + 1));
+    }
+    
+    /**
+     * One page of full-text search results, best match first.
+     * Hidden posts are only returned to admins and to their author.
+     */
+    public SearchPage<PostResponse> searchPosts(String query, User currentUser, int page, int size) {
+        boolean includeHidden = currentUser.getRole() == User.Role.ROLE_ADMIN;
+        List<Long> hits = postSearchIndex.search(query, currentUser.getId(), includeHidden);
+        
+        int from = (int) Math.min((long) page * size, hits.size());
+        List<Long> pageIds = hits.subList(from, Math.min(from + size, hits.size()));
+        
+        // The index trails writes slightly, so drop posts deleted or hidden since they were indexed
+        Map<Long, Post> posts = postRepository.findAllById(pageIds).stream()
+            .filter(post -> includeHidden || !post.isHidden() || post.getAuthor().getId().equals(currentUser.getId()))
+            .collect(Collectors.toMap(Post::getId, post -> post));
+        List<Post> ordered = pageIds.stream()
+            .map(posts::get)
+            .filter(post -> post != null)
+            .collect(Collectors.toList());
+        
+        return new SearchPage<>(convertToPostResponses(ordered, currentUser), page, size, hits.size());
+    }
+    
+    /**
+     * Cursor pointing at a post's position in (createdAt, id) order
+     */
+    public static PageCursor cursorOf(Post post) {
+        return new PageCursor(post.getCreatedAt(), post.getId());
+    }
+    
     /**
      * Convert Post entity to PostResponse DTO
      * ✅ UPDATED: Now includes isHidden field
      */
     public PostResponse convertToPostResponse(Post post, User currentUser) {
-        PostResponse response = new PostResponse();
-        response.setId(post.getId());
-        response.setContent(post.getContent());
-        response.setMediaUrls(post.getMediaUrls());
-        response.setMediaTypes(post.getMediaTypes());
-        response.setCreatedAt(post.getCreatedAt());
-        response.setUpdatedAt(post.getUpdatedAt());
-        
-        // Author information
-        response.setAuthorId(post.getAuthor().getId());
-        response.setAuthorUsername(post.getAuthor().getUsername());
-        response.setAuthorProfilePicture(post.getAuthor().getProfilePicture());
-        
-        // Like and comment counts
-        response.setLikeCount(likeService.getLikeCount(post));
-        response.setCommentCount((long) post.getComments().size());
+        return convertToPostResponses(List.of(post), currentUser).get(0);
+    }
+    
+    /**
+     * Convert a page of posts to PostResponse DTOs with a fixed number of queries per
+     * IN_LIST_CHUNK_SIZE posts: one liked-by-me lookup, one author fetch and one media fetch.
+     * Like and comment counts come from the denormalized counters on the post.
+     */
+    public List<PostResponse> convertToPostResponses(List<Post> posts, User currentUser) {
+        if (posts.isEmpty()) {
+            return new ArrayList<>();
+        }
         
-        // Check if current user liked this post
-        response.setLikedByCurrentUser(likeService.hasUserLikedPost(post, currentUser));
+        Set<Long> postIds = new HashSet<>();
+        Set<Long> authorIds = new HashSet<>();
+        for (Post post : posts) {
+            postIds.add(post.getId());
+            authorIds.add(post.getAuthor().getId()); // Reading the id does not initialize the lazy author
+        }
         
-        // ✅ NEW: Include hidden status
-        response.setHidden(post.isHidden());
+        Set<Long> likedByCurrentUser = new HashSet<>();
+        for (List<Long> chunk : chunks(postIds)) {
+            likedByCurrentUser.addAll(likeService.findLikedPostIds(currentUser.getId(), chunk));
+        }
+        Map<Long, User> authors = new HashMap<>();
+        for (List<Long> chunk : chunks(authorIds)) {
+            for (User author : userRepository.findAllById(chunk)) {
+                authors.put(author.getId(), author);
+            }
+        }
+        Map<Long, List<PostMedia>> media = loadMedia(posts);
         
-        return response;
+        List<PostResponse> responses = new ArrayList<>(posts.size());
+        for (Post post : posts) {
+            PostResponse response = new PostResponse();
+            response.setId(post.getId());
+            response.setContent(post.getContent());
+            List<String> mediaUrls = new ArrayList<>();
+            List<String> mediaTypes = new ArrayList<>();
+            for (PostMedia item : media.getOrDefault(post.getId(), List.of())) {
+                mediaUrls.add(item.getUrl());
+                mediaTypes.add(item.getType());
+            }
+            response.setMediaUrls(mediaUrls);
+            response.setMediaTypes(mediaTypes);
+            response.setCreatedAt(post.getCreatedAt());
+            response.setUpdatedAt(post.getUpdatedAt());
+            
+            // Author information
+            User author = authors.get(post.getAuthor().getId());
+            if (author != null) {
+                response.setAuthorId(author.getId());
+                response.setAuthorUsername(author.getUsername());
+                response.setAuthorProfilePicture(author.getProfilePicture());
+            }
+            
+            // Like and comment counts
+            response.setLikeCount(likeService.getLikeCount(post));
+            response.setCommentCount(postCounterService.getCommentCount(post));
+            
+            // Check if current user liked this post
+            response.setLikedByCurrentUser(likedByCurrentUser.contains(post.getId()));
+            
+            // ✅ NEW: Include hidden status
+            response.setHidden(post.isHidden());
+            
+            responses.add(response);
+        }
+        return responses;
+    }
+    
+    /**
+     * Media of each post by post id. Collections already in memory are used as is;
+     * the rest are read with one query per chunk, so this works for detached posts too.
+     */
+    private Map<Long, List<PostMedia>> loadMedia(List<Post> posts) {
+        Map<Long, List<PostMedia>> media = new HashMap<>();
+        Set<Long> unloaded = new HashSet<>();
+        for (Post post : posts) {
+            if (Hibernate.isInitialized(post.getMedia())) {
+                media.put(post.getId(), post.getMedia());
+            } else {
+                unloaded.add(post.getId());
+            }
+        }
+        for (List<Long> chunk : chunks(unloaded)) {
+            for (Object[] row : postRepository.findMediaByPostIds(chunk)) {
+                media.computeIfAbsent((Long) row[0], id -> new ArrayList<>())
+                    .add(new PostMedia((String) row[1], (String) row[2], null));
+            }
+        }
+        return media;
+    }
+    
+    /**
+     * Ids split into IN lists of at most IN_LIST_CHUNK_SIZE
+     */
+    private static List<List<Long>> chunks(Collection<Long> ids) {
+        List<Long> all = new ArrayList<>(ids);
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < all.size(); from += IN_LIST_CHUNK_SIZE) {
+            chunks.add(all.subList(from, Math.min(all.size(), from + IN_LIST_CHUNK_SIZE)));
+        }
+        return chunks;
     }
 }
\ No newline at end of file
@@ -0,0 +1,114 @@
+// backend/src/main/java/com/zerooneblog/service/UnreadNotificationCounter.java
+package com.zerooneblog.service;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.zerooneblog.repository.NotificationRepository;
+
+/**
+ * Per-user unread notification counts kept in memory for the badge poll.
+ *
+ * A count is loaded from the database on first read and then maintained by the writers
+ * (fan-out increments, mark-read decrements). Increments and a concurrent first load can
+ * overlap by a few notifications, so entries are reloaded after a TTL; the map is bounded
+ * by evicting the least recently read users once it grows past the configured size.
+ */
+@Service
+public class UnreadNotificationCounter {
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Value("${notifications.unread-cache.max-users:50000}")
+    private int maxUsers;
+
+    @Value("${notifications.unread-cache.ttl-ms:300000}")
+    private long ttlMs;
+
+    private final ConcurrentHashMap<Long, Entry> counts = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    public long get(Long userId) {
+        long now = System.currentTimeMillis();
+        Entry entry = counts.get(userId);
+        if (entry == null || now - entry.loadedAt > ttlMs) {
+            entry = new Entry(notificationRepository.countByUserIdAndIsReadFalse(userId), now);
+            counts.put(userId, entry);
+            evictIfFull();
+        }
+        entry.lastAccess = now;
+        return Math.max(0, entry.count.get());
+    }
+
+    /**
+     * Count one new unread notification for each user; users not cached are loaded on their next read
+     */
+    public void increment(Collection<Long> userIds) {
+        for (Long userId : userIds) {
+            Entry entry = counts.get(userId);
+            if (entry != null) {
+                entry.count.incrementAndGet();
+            }
+        }
+    }
+
+    public void decrement(Long userId) {
+        Entry entry = counts.get(userId);
+        if (entry != null) {
+            entry.count.decrementAndGet();
+        }
+    }
+
+    public void reset(Long userId) {
+        Entry entry = counts.get(userId);
+        if (entry != null) {
+            entry.count.set(0);
+        }
+    }
+
+    /**
+     * Forget the users' counts so the next read reloads them from the database
+     */
+    public void invalidate(Collection<Long> userIds) {
+        userIds.forEach(counts::remove);
+    }
+
+    private void evictIfFull() {
+        int excess = counts.size() - maxUsers;
+        if (excess <= 0 || !evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            // Trim an extra tenth so the sort is not repeated on every new user
+            counts.entrySet().stream()
+                .sorted(Comparator.comparingLong(e -> e.getValue().lastAccess))
+                .limit(excess + maxUsers / 10)
+                .map(Map.Entry::getKey)
+                .toList()
+                .forEach(counts::remove);
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    private static final class Entry {
+        private final AtomicLong count;
+        private final long loadedAt;
+        private volatile long lastAccess;
+
+        Entry(long count, long loadedAt) {
+            this.count = new AtomicLong(count);
+            this.loadedAt = loadedAt;
+            this.lastAccess = loadedAt;
+        }
+    }
+}
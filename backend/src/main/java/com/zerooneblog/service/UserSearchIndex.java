@@ -0,0 +1,186 @@
+// backend/src/main/java/com/zerooneblog/service/UserSearchIndex.java
+package com.zerooneblog.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * In-memory username index for user search and typeahead.
+ *
+ * Lowercased usernames are held twice: in a sorted map for prefix lookups, and as
+ * trigram -> user id posting lists ({@link AdjacencyList}) for substring lookups.
+ * A query returns prefix matches first, shortest name first, then names containing
+ * the query elsewhere, earliest match first. Queries shorter than three characters
+ * match prefixes only. At most max-candidates names are ranked per query, so a very
+ * common fragment costs no more than a rare one. UserService keeps the index in sync
+ * after signups, profile updates and deletions commit.
+ */
+@Service
+@DependsOn("entityManagerFactory") // users must exist before the first load
+public class UserSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserSearchIndex.class);
+
+    private static final int GRAM = 3;
+
+    // Separates name and id in prefix keys; sorts before every character a name can hold
+    private static final char KEY_SEPARATOR = '\u0000';
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${search.users.max-candidates:2000}")
+    private int maxCandidates;
+
+    private final ConcurrentHashMap<Long, String> names = new ConcurrentHashMap<>();
+    // "name\0id" -> id; usernames may differ only by case, so the name alone is not unique
+    private final ConcurrentSkipListMap<String, Long> prefixes = new ConcurrentSkipListMap<>();
+    private final ConcurrentHashMap<String, AdjacencyList> grams = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        jdbcTemplate.query("SELECT id, username FROM users", rs -> { index(rs.getLong(1), rs.getString(2)); });
+        logger.info("🔎 Indexed {} usernames for search", names.size());
+    }
+
+    /**
+     * Ids of users whose username contains the query, best match first, at most limit of them
+     */
+    public List<Long> search(String query, int limit) {
+        String needle = normalize(query);
+        Set<Long> results = new LinkedHashSet<>();
+        if (needle.isEmpty() || limit <= 0) {
+            return new ArrayList<>(results);
+        }
+
+        List<Map.Entry<String, Long>> prefixed = new ArrayList<>();
+        for (Map.Entry<String, Long> entry : prefixes.subMap(needle, needle + Character.MAX_VALUE).entrySet()) {
+            if (prefixed.size() == maxCandidates) {
+                break;
+            }
+            prefixed.add(entry);
+        }
+        prefixed.sort(Comparator.comparingInt((Map.Entry<String, Long> entry) -> entry.getKey().indexOf(KEY_SEPARATOR))
+            .thenComparing(Map.Entry::getKey));
+        for (Map.Entry<String, Long> entry : prefixed) {
+            if (results.size() == limit) {
+                return new ArrayList<>(results);
+            }
+            results.add(entry.getValue());
+        }
+
+        if (needle.length() >= GRAM) {
+            for (long id : containing(needle)) {
+                if (results.size() == limit) {
+                    break;
+                }
+                results.add(id);
+            }
+        }
+        return new ArrayList<>(results);
+    }
+
+    public synchronized void index(Long userId, String username) {
+        remove(userId);
+        String name = normalize(username);
+        if (name.isEmpty()) {
+            return;
+        }
+        names.put(userId, name);
+        prefixes.put(name + KEY_SEPARATOR + userId, userId);
+        for (String gram : gramsOf(name)) {
+            grams.compute(gram, (key, list) -> {
+                AdjacencyList target = list != null ? list : new AdjacencyList();
+                target.add(userId);
+                return target;
+            });
+        }
+    }
+
+    public synchronized void remove(Long userId) {
+        String name = names.remove(userId);
+        if (name == null) {
+            return;
+        }
+        prefixes.remove(name + KEY_SEPARATOR + userId);
+        for (String gram : gramsOf(name)) {
+            grams.computeIfPresent(gram, (key, list) -> {
+                list.remove(userId);
+                return list.size() == 0 ? null : list;
+            });
+        }
+    }
+
+    // Names containing the needle past their first character, ranked by match position then length
+    private List<Long> containing(String needle) {
+        AdjacencyList[] lists = new AdjacencyList[needle.length() - GRAM + 1];
+        for (int i = 0; i < lists.length; i++) {
+            lists[i] = grams.get(needle.substring(i, i + GRAM));
+            if (lists[i] == null) {
+                return List.of();
+            }
+        }
+        Arrays.sort(lists, Comparator.comparingInt(AdjacencyList::size));
+
+        List<long[]> matches = new ArrayList<>(); // { id, position, length }
+        for (long id : lists[0].toArray()) {
+            if (matches.size() == maxCandidates) {
+                break;
+            }
+            if (!inAll(lists, id)) {
+                continue;
+            }
+            String name = names.get(id);
+            int position = name != null ? name.indexOf(needle) : -1;
+            if (position > 0) {
+                matches.add(new long[] { id, position, name.length() });
+            }
+        }
+        matches.sort(Comparator.<long[]>comparingLong(match -> match[1]).thenComparingLong(match -> match[2]));
+
+        List<Long> ids = new ArrayList<>(matches.size());
+        for (long[] match : matches) {
+            ids.add(match[0]);
+        }
+        return ids;
+    }
+
+    private static boolean inAll(AdjacencyList[] lists, long id) {
+        for (int i = 1; i < lists.length; i++) {
+            if (!lists[i].contains(id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Set<String> gramsOf(String name) {
+        Set<String> result = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM <= name.length(); i++) {
+            result.add(name.substring(i, i + GRAM));
+        }
+        return result;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+    }
+}
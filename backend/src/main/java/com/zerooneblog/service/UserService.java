@@ -1,23 +1,37 @@
 package com.zerooneblog.service;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
+import com.zerooneblog.model.DeletedUser;
 import com.zerooneblog.model.User;
 import com.zerooneblog.model.UserSubscription;
 import com.zerooneblog.repository.CommentRepository;
+import com.zerooneblog.repository.DeletedUserRepository;
 import com.zerooneblog.repository.LikeRepository;
 import com.zerooneblog.repository.PostRepository;
 import com.zerooneblog.repository.ReportRepository;
 import com.zerooneblog.repository.UserRepository;
 import com.zerooneblog.repository.UserSubscriptionRepository;
+import com.zerooneblog.security.TokenVersionRegistry;
+import com.zerooneblog.security.UserDetailsServiceImpl;
+import com.zerooneblog.security.UserPrincipal;
 
 @Service
 public class UserService {
@@ -30,6 +44,9 @@ public class UserService {
     @Autowired
     private LikeRepository likeRepository;
     
+    @Autowired
+    private LikeEngine likeEngine;
+    
     @Autowired
     private CommentRepository commentRepository;
     
@@ -38,11 +55,73 @@ public class UserService {
     
     @Autowired
     private UserSubscriptionRepository userSubscriptionRepository;
+    
+    @Autowired
+    private DeletedUserRepository deletedUserRepository;
+    
+    @Autowired
+    private HomeTimelineService homeTimelineService;
+    
+    @Autowired
+    private FollowGraph followGraph;
+    
+    @Autowired
+    private FollowRecommender followRecommender;
+    
+    @Autowired
+    private UserSearchIndex userSearchIndex;
+    
+    @Autowired
+    private PostSearchIndex postSearchIndex;
+    
+    @Autowired
+    private CommentCache commentCache;
+    
+    // Hard cap on users returned by one search
+    @Value("${search.users.max-results:20}")
+    private int maxSearchResults;
+    
+    @Autowired
+    private UserDetailsServiceImpl userDetailsService;
+    
+    @Autowired
+    private TokenVersionRegistry tokenVersionRegistry;
+    
+    // Request attribute holding the current user's entity once loaded
+    private static final String CURRENT_USER_ATTRIBUTE = UserService.class.getName() + ".currentUser";
 
+    /**
+     * The authenticated user's entity, loaded by id at most once per request
+     */
     public User getCurrentUser() {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        return userRepository.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null && request.getAttribute(CURRENT_USER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof User user) {
+            return user;
+        }
+        
+        Long userId = getCurrentUserId();
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with id: " + userId));
+        if (request != null) {
+            request.setAttribute(CURRENT_USER_ATTRIBUTE, user, RequestAttributes.SCOPE_REQUEST);
+        }
+        return user;
+    }
+
+    /**
+     * The principal resolved by the JWT filter (id, username, role), without touching the database
+     */
+    public UserPrincipal getCurrentPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return principal;
+        }
+        String name = authentication != null ? authentication.getName() : null;
+        throw new UsernameNotFoundException("User not found: " + name);
+    }
+
+    public Long getCurrentUserId() {
+        return getCurrentPrincipal().getId();
     }
 
     public Optional<User> getUserById(Long id) {
@@ -53,12 +132,34 @@ public class UserService {
         return userRepository.findByUsername(username);
     }
 
-    public List<User> searchUsers(String query) {
-        return userRepository.searchUsers(query);
+    /**
+     * Users whose username contains the query, prefix matches first, answered from the search index.
+     * The limit is clamped to search.users.max-results.
+     */
+    public List<User> searchUsers(String query, Integer limit) {
+        int size = limit == null ? maxSearchResults : Math.max(1, Math.min(limit, maxSearchResults));
+        List<Long> ids = userSearchIndex.search(query, size);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        
+        Map<Long, User> users = userRepository.findAllById(ids).stream()
+            .collect(Collectors.toMap(User::getId, Function.identity()));
+        return ids.stream()
+            .map(users::get)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
     }
 
     public User updateUser(User user) {
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        AfterCommit.run(() -> {
+            userDetailsService.invalidate(saved.getId());
+            userSearchIndex.index(saved.getId(), saved.getUsername());
+        });
+        // Cached comment JSON embeds the author's username and profile picture
+        commentCache.onAuthorUpdated(saved.getId());
+        return saved;
     }
 
     public boolean existsByUsername(String username) {
@@ -70,15 +171,19 @@ public class UserService {
     }
 
     public User saveUser(User user) {
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        AfterCommit.run(() -> userSearchIndex.index(saved.getId(), saved.getUsername()));
+        return saved;
     }
 
     @Transactional
     public void followUser(User follower, User userToFollow) {
-        // ✅ FIXED: Use UserSubscriptionRepository properly
-        if (!userSubscriptionRepository.existsBySubscriberAndSubscribedTo(follower, userToFollow)) {
+        if (!followGraph.isFollowing(follower.getId(), userToFollow.getId())) {
             UserSubscription subscription = new UserSubscription(follower, userToFollow);
             userSubscriptionRepository.save(subscription);
+            homeTimelineService.onFollow(follower, userToFollow);
+            followGraph.onFollow(follower.getId(), userToFollow.getId());
+            followRecommender.onFollowChanged(follower.getId());
         }
     }
 
@@ -86,25 +191,30 @@ public class UserService {
     public void unfollowUser(User follower, User userToUnfollow) {
         // ✅ FIXED: Use UserSubscriptionRepository properly
         userSubscriptionRepository.findBySubscriberAndSubscribedTo(follower, userToUnfollow)
-            .ifPresent(subscription -> userSubscriptionRepository.delete(subscription));
+            .ifPresent(subscription -> {
+                userSubscriptionRepository.delete(subscription);
+                homeTimelineService.onUnfollow(follower, userToUnfollow);
+                followGraph.onUnfollow(follower.getId(), userToUnfollow.getId());
+                followRecommender.onFollowChanged(follower.getId());
+            });
     }
 
-    public List<User> getFollowers(User user) {
-        // ✅ FIXED: Use the repository method
-        return userSubscriptionRepository.findSubscribersBySubscribedTo(user);
+    /**
+     * The user's most recent followers, at most limit of them
+     */
+    public List<User> getFollowers(User user, int limit) {
+        return userSubscriptionRepository.findSubscribersBySubscribedTo(user, PageRequest.of(0, limit));
     }
 
-    public List<User> getFollowing(User user) {
-        // ✅ FIXED: Get subscriptions and map to users
-        return userSubscriptionRepository.findBySubscriber(user)
-            .stream()
-            .map(UserSubscription::getSubscribedTo)
-            .collect(Collectors.toList());
+    /**
+     * The users most recently followed by the user, at most limit of them
+     */
+    public List<User> getFollowing(User user, int limit) {
+        return userSubscriptionRepository.findSubscribedToBySubscriber(user, PageRequest.of(0, limit));
     }
 
     public boolean isFollowing(User follower, User target) {
-        // ✅ FIXED: Use repository method
-        return userSubscriptionRepository.existsBySubscriberAndSubscribedTo(follower, target);
+        return followGraph.isFollowing(follower.getId(), target.getId());
     }
 
     // --- Admin Action Methods ---
@@ -123,19 +233,34 @@ public class UserService {
             
             System.out.println("Deleting comments by user...");
             commentRepository.deleteByUser(user);
+            commentCache.invalidateAll();
             
             System.out.println("Deleting likes by user...");
             likeRepository.deleteByUser(user);
+            likeEngine.onUserDeleted(userId);
+            
+            System.out.println("Deleting home timeline entries...");
+            homeTimelineService.onUserDeleted(userId);
             
             System.out.println("Deleting posts by user...");
             postRepository.deleteByAuthor(user);
+            postSearchIndex.onAuthorDeleted(userId);
             
             System.out.println("Deleting subscriptions...");
             userSubscriptionRepository.deleteAll(userSubscriptionRepository.findBySubscriber(user));
             userSubscriptionRepository.deleteAll(userSubscriptionRepository.findBySubscribedTo(user));
+            followGraph.onUserDeleted(userId);
+            followRecommender.onUserDeleted(userId);
+            AfterCommit.run(() -> userSearchIndex.remove(userId));
             
             System.out.println("Deleting user...");
             userRepository.delete(user);
+            // Persisted with the delete so every instance's token check picks it up, restarts included
+            deletedUserRepository.save(new DeletedUser(userId, LocalDateTime.now()));
+            AfterCommit.run(() -> {
+                userDetailsService.invalidate(userId);
+                tokenVersionRegistry.onUserDeleted(userId);
+            });
             
             System.out.println("User and all related data deleted successfully");
         } catch (Exception e) {
@@ -155,6 +280,14 @@ public class UserService {
         // ✅ FIXED: Changed from setIsBlocked to setBlocked
         user.setBlocked(true);
         userRepository.save(user);
+        
+        // Revoke every token issued so far; the JWT filter does not read the blocked flag
+        userRepository.incrementTokenVersion(userId);
+        int tokenVersion = userRepository.findTokenVersionById(userId);
+        AfterCommit.run(() -> {
+            userDetailsService.invalidate(userId);
+            tokenVersionRegistry.revoke(userId, tokenVersion);
+        });
         System.out.println("User banned successfully");
     }
     
@@ -168,6 +301,7 @@ public class UserService {
         // ✅ FIXED: Changed from setIsBlocked to setBlocked
         user.setBlocked(false);
         userRepository.save(user);
+        AfterCommit.run(() -> userDetailsService.invalidate(userId));
         System.out.println("User unbanned successfully");
     }
     
@@ -0,0 +1,23 @@
+-- backend/src/main/resources/db/legacy-follows.sql
+-- Run before Hibernate starts (spring.sql.init), on every boot; idempotent.
+-- Merges the legacy follows table into user_subscriptions, the single stored form of the
+-- relationship, keeping each pair's earliest follow and skipping self-follows and pairs that
+-- already exist. follows is dropped in the same transaction, only after the merge succeeded.
+-- Ids come from user_subscriptions_id_seq, which both the IDENTITY and the pooled mappings use.
+DO $$
+BEGIN
+    IF to_regclass('follows') IS NULL OR to_regclass('user_subscriptions') IS NULL THEN
+        RETURN;
+    END IF;
+
+    INSERT INTO user_subscriptions (id, subscriber_id, subscribed_to_id, created_at)
+    SELECT nextval('user_subscriptions_id_seq'), f.follower_id, f.following_id,
+           COALESCE(MIN(f.created_at), CURRENT_TIMESTAMP)
+    FROM follows f
+    WHERE f.follower_id <> f.following_id AND NOT EXISTS (
+        SELECT 1 FROM user_subscriptions s
+        WHERE s.subscriber_id = f.follower_id AND s.subscribed_to_id = f.following_id)
+    GROUP BY f.follower_id, f.following_id;
+
+    DROP TABLE follows;
+END $$;
@@ -0,0 +1,23 @@
+-- backend/src/main/resources/db/pooled-id-sequences.sql
+-- Run by the prod profile before Hibernate starts (spring.sql.init), on every boot; idempotent.
+-- META-INF/orm-prod.xml maps entity ids to pooled sequences (allocationSize = 50), so each table's
+-- id sequence must step by 50. Serial and identity columns keep their sequence, so the column
+-- default and native INSERTs using nextval keep handing out ids that never collide with a
+-- reserved block. Tables that do not exist yet are skipped; Hibernate creates their sequences.
+DO $$
+DECLARE
+    t TEXT;
+BEGIN
+    FOREACH t IN ARRAY ARRAY['users', 'posts', 'comments', 'likes', 'user_subscriptions', 'reports', 'notifications'] LOOP
+        IF to_regclass(t) IS NULL OR pg_get_serial_sequence(t, 'id') IS NULL THEN
+            CONTINUE;
+        END IF;
+        IF EXISTS (SELECT 1 FROM information_schema.columns
+                   WHERE table_schema = current_schema() AND table_name = t
+                     AND column_name = 'id' AND is_identity = 'YES') THEN
+            EXECUTE format('ALTER TABLE %I ALTER COLUMN id SET INCREMENT BY 50', t);
+        ELSE
+            EXECUTE format('ALTER SEQUENCE %s INCREMENT BY 50', pg_get_serial_sequence(t, 'id'));
+        END IF;
+    END LOOP;
+END $$;
@@ -0,0 +1,28 @@
+-- backend/src/main/resources/db/post-counters.sql
+-- Run before Hibernate starts (spring.sql.init), on every boot; applied once per database.
+-- Adds the denormalized like_count / comment_count columns and fills them from the likes and
+-- comments tables. Hibernate may already have added the columns as zeros, so whether the
+-- recount ran is recorded in schema_migrations rather than inferred from the columns.
+-- A database without posts yet has nothing to count and is only marked.
+DO $$
+BEGIN
+    CREATE TABLE IF NOT EXISTS schema_migrations (
+        name VARCHAR(100) PRIMARY KEY,
+        applied_at TIMESTAMP NOT NULL
+    );
+    IF EXISTS (SELECT 1 FROM schema_migrations WHERE name = 'post-counters') THEN
+        RETURN;
+    END IF;
+
+    IF to_regclass('posts') IS NOT NULL THEN
+        ALTER TABLE posts ADD COLUMN IF NOT EXISTS like_count BIGINT NOT NULL DEFAULT 0;
+        ALTER TABLE posts ADD COLUMN IF NOT EXISTS comment_count BIGINT NOT NULL DEFAULT 0;
+        UPDATE posts p SET
+            like_count = (SELECT COUNT(*) FROM likes l WHERE l.post_id = p.id),
+            comment_count = (SELECT COUNT(*) FROM comments c WHERE c.post_id = p.id);
+    END IF;
+
+    -- Instances booting together may both get here; the recount is the same either way
+    INSERT INTO schema_migrations (name, applied_at) VALUES ('post-counters', CURRENT_TIMESTAMP)
+    ON CONFLICT DO NOTHING;
+END $$;
@@ -0,0 +1,48 @@
+-- backend/src/main/resources/db/post-media.sql
+-- Run before Hibernate starts (spring.sql.init), on every boot; idempotent.
+-- Copies the media of the old parallel collection tables (post_media_urls / post_media_types /
+-- post_cloudinary_ids) into post_media, renumbering positions so null urls leave no gaps, and
+-- drops the old tables in the same transaction once the copy succeeded. post_media_urls is what
+-- holds the media, so nothing is dropped while it is missing; the type and public id tables are
+-- joined only when they exist.
+DO $$
+DECLARE
+    types_join TEXT := 'NULL::VARCHAR';
+    ids_join TEXT := 'NULL::VARCHAR';
+    joins TEXT := '';
+BEGIN
+    IF to_regclass('post_media_urls') IS NULL THEN
+        RETURN;
+    END IF;
+
+    CREATE TABLE IF NOT EXISTS post_media (
+        post_id BIGINT NOT NULL REFERENCES posts (id),
+        position INTEGER NOT NULL,
+        url VARCHAR(500) NOT NULL,
+        type VARCHAR(50),
+        public_id VARCHAR(255),
+        PRIMARY KEY (post_id, position)
+    );
+
+    IF to_regclass('post_media_types') IS NOT NULL THEN
+        types_join := 't.media_type';
+        joins := joins || ' LEFT JOIN post_media_types t ON t.post_id = u.post_id AND t.type_order = u.url_order';
+    END IF;
+    IF to_regclass('post_cloudinary_ids') IS NOT NULL THEN
+        ids_join := 'c.cloudinary_public_id';
+        joins := joins || ' LEFT JOIN post_cloudinary_ids c ON c.post_id = u.post_id AND c.id_order = u.url_order';
+    END IF;
+
+    -- Posts that already have post_media rows were written by the new mapping; leave them alone
+    EXECUTE format(
+        'INSERT INTO post_media (post_id, position, url, type, public_id) '
+        || 'SELECT u.post_id, ROW_NUMBER() OVER (PARTITION BY u.post_id ORDER BY u.url_order) - 1, '
+        || 'u.media_url, %s, %s FROM post_media_urls u%s '
+        || 'WHERE u.media_url IS NOT NULL '
+        || 'AND NOT EXISTS (SELECT 1 FROM post_media m WHERE m.post_id = u.post_id)',
+        types_join, ids_join, joins);
+
+    DROP TABLE post_media_urls;
+    DROP TABLE IF EXISTS post_media_types;
+    DROP TABLE IF EXISTS post_cloudinary_ids;
+END $$;
@@ -0,0 +1,156 @@
+// backend/src/test/java/com/zerooneblog/bench/NotificationFanoutBenchmark.java
+package com.zerooneblog.bench;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.zerooneblog.model.Notification;
+import com.zerooneblog.model.Notification.NotificationType;
+import com.zerooneblog.model.Post;
+import com.zerooneblog.model.User;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Insert throughput of notification fan-out, before and after statement batching.
+ *
+ * Each mode writes bench.fanout.rows POST notifications for a throwaway author and post,
+ * inside a transaction that is rolled back, so nothing is left behind:
+ * - jpa-row: one INSERT round trip per entity, which is what IDENTITY ids forced
+ * - jpa-batched: pooled sequence ids with hibernate.jdbc.batch_size statement batches
+ * - jdbc-row: the fan-out INSERT executed once per follower
+ * - jdbc-batched: the fan-out INSERT as one JDBC batch, as NotificationFanoutService writes it
+ *
+ * Not picked up by a plain mvn test; run it explicitly against a real database, with and
+ * without the prod profile to compare IDENTITY ids with pooled sequence ids:
+ *   mvn test -Dtest=NotificationFanoutBenchmark -Dspring.profiles.active=prod
+ */
+@SpringBootTest
+class NotificationFanoutBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationFanoutBenchmark.class);
+
+    private static final String INSERT_SQL =
+        "INSERT INTO notifications (id, message, is_read, created_at, type, user_id, from_user_id, related_post_id) " +
+        "VALUES (nextval('notifications_id_seq'), ?, false, ?, ?, ?, ?, ?)";
+    private static final String MESSAGE = "posted a new update";
+
+    // Keeps the persistence context small; statements are batched within each flush
+    private static final int FLUSH_INTERVAL = 1000;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${bench.fanout.rows:10000}")
+    private int rows;
+
+    @Value("${bench.fanout.rounds:5}")
+    private int rounds;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:1}")
+    private int jdbcBatchSize;
+
+    @Test
+    void fanOutInsertThroughput() {
+        logger.info("📊 Notification fan-out benchmark: {} rows x {} rounds, hibernate.jdbc.batch_size={}",
+            rows, rounds, jdbcBatchSize);
+
+        measure("jpa-row", (author, post) -> persistAll(author, post, 1));
+        measure("jpa-batched", (author, post) -> persistAll(author, post, jdbcBatchSize));
+        measure("jdbc-row", (author, post) -> {
+            for (Object[] row : fanOutRows(author, post)) {
+                jdbcTemplate.update(INSERT_SQL, row);
+            }
+        });
+        measure("jdbc-batched", (author, post) -> jdbcTemplate.batchUpdate(INSERT_SQL, fanOutRows(author, post)));
+    }
+
+    /**
+     * One warm-up round, then the median of the measured rounds in rows per second
+     */
+    private void measure(String mode, BiConsumer<User, Post> insert) {
+        long[] nanos = new long[rounds];
+        for (int round = -1; round < rounds; round++) {
+            long elapsed = runRolledBack(insert);
+            if (round >= 0) {
+                nanos[round] = elapsed;
+            }
+        }
+        Arrays.sort(nanos);
+        double seconds = nanos[rounds / 2] / 1e9;
+        logger.info("📊 {}: {} rows/s ({} ms per {} rows)",
+            mode, Math.round(rows / seconds), Math.round(seconds * 1000), rows);
+    }
+
+    private long runRolledBack(BiConsumer<User, Post> insert) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        Long elapsed = transaction.execute(status -> {
+            status.setRollbackOnly();
+            User author = new User("bench_" + System.nanoTime() % 100000000, "bench" + System.nanoTime() + "@bench.local", "-");
+            entityManager.persist(author);
+            Post post = new Post("benchmark post", author);
+            entityManager.persist(post);
+            entityManager.flush();
+
+            long start = System.nanoTime();
+            insert.accept(author, post);
+            entityManager.flush();
+            long stop = System.nanoTime();
+            entityManager.clear();
+            return stop - start;
+        });
+        return elapsed;
+    }
+
+    private void persistAll(User author, Post post, int batchSize) {
+        Session session = entityManager.unwrap(Session.class);
+        session.setJdbcBatchSize(batchSize);
+        try {
+            for (int i = 0; i < rows; i++) {
+                Notification notification = new Notification(MESSAGE, author, post);
+                notification.setType(NotificationType.POST);
+                notification.setFromUser(author);
+                entityManager.persist(notification);
+                if ((i + 1) % FLUSH_INTERVAL == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+            }
+        } finally {
+            session.setJdbcBatchSize(null);
+        }
+    }
+
+    // The recipient is the author for every row; the rows only need valid foreign keys
+    private List<Object[]> fanOutRows(User author, Post post) {
+        Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> args = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            args.add(new Object[] {
+                MESSAGE, createdAt, NotificationType.POST.name(), author.getId(), author.getId(), post.getId() });
+        }
+        return args;
+    }
+}
@@ -0,0 +1,179 @@
+// backend/src/test/java/com/zerooneblog/service/AdjacencyListTest.java
+package com.zerooneblog.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Test;
+
+class AdjacencyListTest {
+
+    private static final int SEGMENT = AdjacencyList.SEGMENT_SIZE;
+
+    // Even ids 2, 4, ..., so every odd id is a gap
+    private static AdjacencyList evenIds(int count) {
+        long[] ids = LongStream.rangeClosed(1, count).map(i -> i * 2).toArray();
+        return AdjacencyList.ofSorted(ids, ids.length);
+    }
+
+    @Test
+    void emptyListAcceptsFirstIdAndIdsBelowIt() {
+        AdjacencyList list = new AdjacencyList();
+        assertFalse(list.contains(1));
+        assertFalse(list.remove(1));
+
+        assertTrue(list.add(5));
+        assertTrue(list.add(1));
+        assertFalse(list.add(5));
+        assertArrayEquals(new long[] { 1, 5 }, list.toArray());
+        assertEquals(2, list.size());
+    }
+
+    @Test
+    void ofSortedCutsFullSegments() {
+        AdjacencyList list = evenIds(SEGMENT * 2 + 1);
+
+        assertEquals(SEGMENT * 2 + 1, list.size());
+        assertArrayEquals(LongStream.rangeClosed(1, SEGMENT * 2 + 1).map(i -> i * 2).toArray(), list.toArray());
+    }
+
+    @Test
+    void containsAcrossSegmentBoundaries() {
+        AdjacencyList list = evenIds(SEGMENT * 3);
+
+        for (int segment = 0; segment < 3; segment++) {
+            long head = (long) segment * SEGMENT * 2 + 2;
+            long tail = head + (SEGMENT - 1) * 2L;
+            assertTrue(list.contains(head));
+            assertTrue(list.contains(tail));
+            assertFalse(list.contains(head - 1)); // gap before the head, the previous segment's range
+            assertFalse(list.contains(tail + 1)); // gap after the tail, before the next head
+        }
+        assertFalse(list.contains(0));
+        assertFalse(list.contains(Long.MIN_VALUE));
+        assertFalse(list.contains(Long.MAX_VALUE));
+    }
+
+    @Test
+    void addingToFullSegmentSplitsIt() {
+        AdjacencyList list = evenIds(SEGMENT);
+
+        assertTrue(list.add(SEGMENT + 1)); // odd, lands in the middle of the only segment
+        assertTrue(list.add(1));           // below the first head
+        assertTrue(list.add(SEGMENT * 2 + 1)); // past the last id
+
+        assertEquals(SEGMENT + 3, list.size());
+        for (long id = 1; id <= SEGMENT * 2 + 1; id++) {
+            boolean expected = id % 2 == 0 || id == 1 || id == SEGMENT + 1 || id == SEGMENT * 2 + 1;
+            assertEquals(expected, list.contains(id), "id " + id);
+        }
+        long[] ids = list.toArray();
+        for (int i = 1; i < ids.length; i++) {
+            assertTrue(ids[i - 1] < ids[i]);
+        }
+    }
+
+    @Test
+    void repeatedSplitsKeepEveryId() {
+        AdjacencyList list = new AdjacencyList();
+        for (long id = SEGMENT * 8; id >= 1; id--) {
+            assertTrue(list.add(id));
+        }
+
+        assertEquals(SEGMENT * 8, list.size());
+        assertArrayEquals(LongStream.rangeClosed(1, SEGMENT * 8).toArray(), list.toArray());
+    }
+
+    @Test
+    void removingTheLastIdOfASegmentDropsIt() {
+        // Segments [2 .. 2*SEGMENT], [2*SEGMENT + 2 .. 4*SEGMENT], one id in the third
+        AdjacencyList list = evenIds(SEGMENT * 2 + 1);
+        long lone = SEGMENT * 4L + 2;
+
+        assertTrue(list.remove(lone));
+        assertFalse(list.contains(lone));
+        assertFalse(list.remove(lone));
+        assertEquals(SEGMENT * 2, list.size());
+
+        // Empty the middle segment; its neighbours stay reachable
+        for (long id = SEGMENT * 2L + 2; id <= SEGMENT * 4L; id += 2) {
+            assertTrue(list.remove(id));
+        }
+        assertEquals(SEGMENT, list.size());
+        assertTrue(list.contains(2));
+        assertTrue(list.contains(SEGMENT * 2L));
+        assertFalse(list.contains(SEGMENT * 2L + 2));
+
+        // Ids in the emptied range go back into the segment before it
+        assertTrue(list.add(SEGMENT * 3L));
+        assertTrue(list.contains(SEGMENT * 3L));
+        assertTrue(list.add(lone));
+        assertEquals(SEGMENT + 2, list.size());
+    }
+
+    @Test
+    void removingEveryIdLeavesAnEmptyList() {
+        AdjacencyList list = evenIds(SEGMENT + 10);
+        for (long id : list.toArray()) {
+            assertTrue(list.remove(id));
+        }
+
+        assertEquals(0, list.size());
+        assertArrayEquals(new long[0], list.toArray());
+        assertFalse(list.contains(2));
+        assertTrue(list.add(7));
+        assertArrayEquals(new long[] { 7 }, list.toArray());
+    }
+
+    @Test
+    void matchesSortedSetUnderRandomOperations() {
+        Random random = new Random(7);
+        long[] initial = random.longs(3000, 1, 5000).distinct().sorted().toArray();
+        TreeSet<Long> expected = new TreeSet<>();
+        for (long id : initial) {
+            expected.add(id);
+        }
+        AdjacencyList list = AdjacencyList.ofSorted(initial, initial.length);
+
+        for (int i = 0; i < 50000; i++) {
+            long id = 1 + random.nextInt(6000);
+            if (random.nextBoolean()) {
+                assertEquals(expected.add(id), list.add(id));
+            } else {
+                assertEquals(expected.remove(id), list.remove(id));
+            }
+            long probe = 1 + random.nextInt(6000);
+            assertEquals(expected.contains(probe), list.contains(probe));
+            assertEquals(expected.size(), list.size());
+        }
+        assertArrayEquals(expected.stream().mapToLong(Long::longValue).toArray(), list.toArray());
+    }
+
+    @Test
+    void sampleMatchesEvenlySpacedIdsOfTheFullList() {
+        AdjacencyList list = new AdjacencyList();
+        // Uneven segments from splits, so the sample has to walk segments of different lengths
+        for (long id = SEGMENT * 5; id >= 1; id -= 3) {
+            list.add(id);
+        }
+        long[] all = list.toArray();
+
+        for (int max : new int[] { 1, 7, 100, all.length - 1, all.length, all.length + 10 }) {
+            long[] into = new long[max];
+            int count = list.sample(into);
+            int expectedCount = Math.min(max, all.length);
+            assertEquals(expectedCount, count);
+            double step = (double) all.length / expectedCount;
+            for (int i = 0; i < count; i++) {
+                assertEquals(all[(int) (i * step)], into[i], "max " + max + ", sample " + i);
+            }
+        }
+        assertEquals(0, new AdjacencyList().sample(new long[4]));
+    }
+}
@@ -0,0 +1,99 @@
+// backend/src/test/java/com/zerooneblog/service/CandidateCountsTest.java
+package com.zerooneblog.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.zerooneblog.service.FollowRecommender.CandidateCounts;
+
+class CandidateCountsTest {
+
+    @Test
+    void countsEachKeyInFirstSeenOrder() {
+        CandidateCounts counts = new CandidateCounts(10);
+        counts.increment(30);
+        counts.increment(10);
+        counts.increment(30);
+        counts.increment(20);
+        counts.increment(30);
+
+        assertEquals(3, counts.touched);
+        assertEquals(30, counts.keyAt(0));
+        assertEquals(3, counts.countAt(0));
+        assertEquals(10, counts.keyAt(1));
+        assertEquals(1, counts.countAt(1));
+        assertEquals(20, counts.keyAt(2));
+        assertEquals(1, counts.countAt(2));
+    }
+
+    @Test
+    void zeroAndNegativeKeys() {
+        CandidateCounts counts = new CandidateCounts(4);
+        counts.increment(0);
+        counts.increment(-1);
+        counts.increment(0);
+
+        assertEquals(2, counts.touched);
+        assertEquals(0, counts.keyAt(0));
+        assertEquals(2, counts.countAt(0));
+        assertEquals(-1, counts.keyAt(1));
+    }
+
+    @Test
+    void ignoresNewKeysOnceFullButKeepsCountingKnownOnes() {
+        CandidateCounts counts = new CandidateCounts(3);
+        for (long key = 1; key <= 10; key++) {
+            counts.increment(key);
+        }
+        counts.increment(2);
+
+        assertEquals(3, counts.touched);
+        assertEquals(1, counts.keyAt(0));
+        assertEquals(2, counts.keyAt(1));
+        assertEquals(2, counts.countAt(1));
+        assertEquals(3, counts.keyAt(2));
+    }
+
+    @Test
+    void clearForgetsEveryKey() {
+        CandidateCounts counts = new CandidateCounts(8);
+        for (long key = 1; key <= 8; key++) {
+            counts.increment(key);
+        }
+        counts.clear();
+        assertEquals(0, counts.touched);
+
+        counts.increment(5);
+        counts.increment(9);
+        assertEquals(2, counts.touched);
+        assertEquals(5, counts.keyAt(0));
+        assertEquals(1, counts.countAt(0));
+        assertEquals(9, counts.keyAt(1));
+    }
+
+    @Test
+    void matchesHashMapAcrossReuse() {
+        CandidateCounts counts = new CandidateCounts(100);
+        Random random = new Random(1);
+
+        for (int round = 0; round < 50; round++) {
+            counts.clear();
+            Map<Long, Integer> expected = new HashMap<>();
+            for (int i = 0; i < 1000; i++) {
+                long key = random.nextInt(90) * 7919L;
+                counts.increment(key);
+                expected.merge(key, 1, Integer::sum);
+            }
+
+            assertEquals(expected.size(), counts.touched);
+            for (int slot = 0; slot < counts.touched; slot++) {
+                assertEquals(expected.get(counts.keyAt(slot)), counts.countAt(slot));
+            }
+        }
+    }
+}
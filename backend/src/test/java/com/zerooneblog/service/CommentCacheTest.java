@@ -0,0 +1,263 @@
+// backend/src/test/java/com/zerooneblog/service/CommentCacheTest.java
+package com.zerooneblog.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.zerooneblog.dto.PageCursor;
+import com.zerooneblog.dto.SerializedComment;
+import com.zerooneblog.service.CommentCache.FrequencySketch;
+import com.zerooneblog.service.CommentCache.Slice;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class CommentCacheTest {
+
+    private static final long AUTHOR = 7L;
+
+    // Comment n was written at minute n, so higher ids are newer
+    private static SerializedComment comment(long id) {
+        return comment(id, AUTHOR);
+    }
+
+    private static SerializedComment comment(long id, long authorId) {
+        return new SerializedComment(id, createdAt(id), authorId, "{\"id\":" + id + "}");
+    }
+
+    private static LocalDateTime createdAt(long id) {
+        return LocalDateTime.of(2024, 1, 1, 0, 0).plusMinutes(id);
+    }
+
+    private static PageCursor after(long id) {
+        return new PageCursor(createdAt(id), id);
+    }
+
+    private static Slice slice(boolean complete, long... newestFirst) {
+        List<SerializedComment> comments = new ArrayList<>();
+        for (long id : newestFirst) {
+            comments.add(comment(id));
+        }
+        return new Slice(comments, complete);
+    }
+
+    private static List<Long> ids(List<SerializedComment> comments) {
+        List<Long> ids = new ArrayList<>();
+        for (SerializedComment comment : comments) {
+            ids.add(comment.getId());
+        }
+        return ids;
+    }
+
+    // Remainder loader for caches whose slices cover every page asked for
+    private static final BiFunction<PageCursor, Integer, List<SerializedComment>> NO_LOAD = (after, count) -> {
+        throw new AssertionError("unexpected load after " + after.getId());
+    };
+
+    private static CommentCache cache(int maxPosts, int sliceSize) {
+        CommentCache cache = new CommentCache();
+        ReflectionTestUtils.setField(cache, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(cache, "maxPosts", maxPosts);
+        ReflectionTestUtils.setField(cache, "sliceSize", sliceSize);
+        cache.init();
+        return cache;
+    }
+
+    @Test
+    void slicePagesInsideTheSlice() {
+        Slice slice = slice(false, 5, 4, 3);
+
+        assertEquals(List.of(5L, 4L), ids(slice.page(PageCursor.start(), 2)));
+        assertEquals(List.of(4L, 3L), ids(slice.page(after(5), 2)));
+        assertEquals(List.of(3L), ids(slice.page(after(4), 1)));
+    }
+
+    @Test
+    void incompleteSliceCannotServePagesPastItsEnd() {
+        Slice slice = slice(false, 5, 4, 3);
+
+        assertNull(slice.page(PageCursor.start(), 4));
+        assertNull(slice.page(after(4), 2));
+        assertNull(slice.page(after(3), 1));
+    }
+
+    @Test
+    void completeSliceServesShortLastPage() {
+        Slice slice = slice(true, 5, 4, 3);
+
+        assertEquals(List.of(5L, 4L, 3L), ids(slice.page(PageCursor.start(), 10)));
+        assertEquals(List.of(3L), ids(slice.page(after(4), 10)));
+        assertTrue(slice.page(after(3), 10).isEmpty());
+    }
+
+    @Test
+    void withInsertsInOrderAndIgnoresDuplicates() {
+        Slice slice = slice(true, 5, 3);
+
+        Slice added = slice.with(comment(4), 10);
+        assertEquals(List.of(5L, 4L, 3L), ids(added.page(PageCursor.start(), 10)));
+        assertSame(added, added.with(comment(4), 10));
+
+        Slice newest = added.with(comment(9), 10);
+        assertEquals(List.of(9L, 5L, 4L, 3L), ids(newest.page(PageCursor.start(), 10)));
+    }
+
+    @Test
+    void withTruncatesToMaxSizeAndBecomesIncomplete() {
+        Slice slice = slice(true, 5, 4, 3).with(comment(6), 3);
+
+        assertEquals(List.of(6L, 5L, 4L), ids(slice.page(PageCursor.start(), 3)));
+        assertNull(slice.page(PageCursor.start(), 4));
+    }
+
+    @Test
+    void withIgnoresCommentsOlderThanAnIncompleteSlice() {
+        Slice incomplete = slice(false, 5, 4);
+        assertSame(incomplete, incomplete.with(comment(1), 10));
+
+        Slice complete = slice(true, 5, 4);
+        assertEquals(List.of(5L, 4L, 1L), ids(complete.with(comment(1), 10).page(PageCursor.start(), 10)));
+    }
+
+    @Test
+    void replacingAndWithout() {
+        Slice slice = slice(true, 5, 4, 3);
+
+        SerializedComment edited = new SerializedComment(4L, createdAt(4), AUTHOR, "{\"id\":4,\"content\":\"edited\"}");
+        Slice replaced = slice.replacing(edited);
+        assertSame(edited, replaced.page(after(5), 1).get(0));
+        assertSame(slice, slice.replacing(comment(99)));
+
+        Slice removed = slice.without(4L);
+        assertEquals(List.of(5L, 3L), ids(removed.page(PageCursor.start(), 10)));
+        assertSame(slice, slice.without(99L));
+    }
+
+    @Test
+    void hasAuthor() {
+        Slice slice = new Slice(List.of(comment(2, 1L), comment(1, 2L)), true);
+
+        assertTrue(slice.hasAuthor(1L));
+        assertTrue(slice.hasAuthor(2L));
+        assertFalse(slice.hasAuthor(3L));
+    }
+
+    @Test
+    void sketchCountsAndSaturates() {
+        FrequencySketch sketch = new FrequencySketch(100);
+        assertEquals(0, sketch.frequency(1));
+
+        for (int i = 0; i < 3; i++) {
+            sketch.increment(1);
+        }
+        assertEquals(3, sketch.frequency(1));
+
+        for (int i = 0; i < 50; i++) {
+            sketch.increment(2);
+        }
+        assertEquals(15, sketch.frequency(2));
+    }
+
+    @Test
+    void sketchNeverUnderestimates() {
+        FrequencySketch sketch = new FrequencySketch(64);
+        for (long key = 0; key < 200; key++) {
+            for (int i = 0; i < key % 5; i++) {
+                sketch.increment(key);
+            }
+        }
+        for (long key = 0; key < 200; key++) {
+            assertTrue(sketch.frequency(key) >= key % 5, "key " + key);
+        }
+    }
+
+    @Test
+    void sketchHalvesCountersAfterTheSampleSize() {
+        // Sample size is ten accesses per cached post
+        FrequencySketch sketch = new FrequencySketch(16);
+        for (int i = 0; i < 12; i++) {
+            sketch.increment(1);
+        }
+        assertEquals(12, sketch.frequency(1));
+
+        for (long key = 1000; key < 1000 + 160 - 12; key++) {
+            sketch.increment(key);
+        }
+        assertTrue(sketch.frequency(1) <= 7, "halved from 12, plus collisions");
+        assertTrue(sketch.frequency(1) >= 6);
+    }
+
+    @Test
+    void cacheRejectsLoadsThatRacedAWrite() {
+        CommentCache cache = cache(10, 3);
+        long stamp = cache.stamp(1L);
+        cache.onCommentAdded(1L, comment(2));
+
+        cache.put(1L, List.of(comment(1)), stamp);
+        assertNull(cache.getPage(1L, PageCursor.start(), 1, NO_LOAD));
+
+        cache.put(1L, List.of(comment(2), comment(1)), cache.stamp(1L));
+        assertEquals(List.of(2L, 1L), ids(cache.getPage(1L, PageCursor.start(), 2, NO_LOAD)));
+    }
+
+    @Test
+    void authorUpdateDropsOnlyTheirSlices() {
+        CommentCache cache = cache(10, 3);
+        cache.put(1L, List.of(comment(2, 1L), comment(1, 2L)), cache.stamp(1L));
+        cache.put(2L, List.of(comment(3, 2L)), cache.stamp(2L));
+        long inFlight = cache.stamp(3L);
+
+        cache.onAuthorUpdated(1L);
+
+        assertNull(cache.getPage(1L, PageCursor.start(), 1, NO_LOAD));
+        assertNotNull(cache.getPage(2L, PageCursor.start(), 1, NO_LOAD));
+        // A load that read the old author fields before the update cannot install them
+        cache.put(3L, List.of(comment(4, 1L)), inFlight);
+        assertNull(cache.getPage(3L, PageCursor.start(), 1, NO_LOAD));
+    }
+
+    @Test
+    void pageLargerThanTheSliceLoadsOnlyTheRest() {
+        CommentCache cache = cache(10, 50);
+        // 120 comments; the slice keeps the newest 50 (ids 120 .. 71)
+        List<SerializedComment> all = new ArrayList<>();
+        for (long id = 120; id >= 1; id--) {
+            all.add(comment(id));
+        }
+        cache.put(1L, all.subList(0, 51), cache.stamp(1L));
+
+        List<Long> loads = new ArrayList<>();
+        BiFunction<PageCursor, Integer, List<SerializedComment>> loadOlder = (after, count) -> {
+            loads.add(after.getId());
+            loads.add((long) count);
+            int from = (int) (120 - after.getId() + 1);
+            return all.subList(from, Math.min(from + count, all.size()));
+        };
+
+        // The legacy list asks for 201 rows at once
+        List<SerializedComment> page = cache.getPage(1L, PageCursor.start(), 201, loadOlder);
+        assertEquals(120, page.size());
+        assertEquals(ids(all), ids(page));
+        assertEquals(List.of(71L, 151L), loads);
+
+        loads.clear();
+        assertEquals(List.of(80L, 79L, 78L), ids(cache.getPage(1L, after(81), 3, loadOlder)));
+        assertTrue(loads.isEmpty());
+        assertEquals(List.of(72L, 71L, 70L, 69L), ids(cache.getPage(1L, after(73), 4, loadOlder)));
+        assertEquals(List.of(71L, 2L), loads);
+
+        // Past the slice nothing is cached, so the caller runs its own query
+        assertNull(cache.getPage(1L, after(71), 10, loadOlder));
+    }
+}
@@ -0,0 +1,84 @@
+// backend/src/test/java/com/zerooneblog/service/LikeEngineTest.java
+package com.zerooneblog.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+class LikeEngineTest {
+
+    private static final long POST = 1L;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void loadKeepsALikeFlushedBetweenTheTableReadAndThePendingScan() throws Exception {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        LikeEngine engine = new LikeEngine();
+        ReflectionTestUtils.setField(engine, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(engine, "transactionManager", mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(engine, "postCounterService", mock(PostCounterService.class));
+        engine.init();
+
+        // The likes table as committed so far; the flush "commits" by adding to it
+        Set<Long> table = new CopyOnWriteArraySet<>();
+        when(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class), eq(POST))).thenReturn(true);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            for (Object[] args : (List<Object[]>) invocation.getArgument(1)) {
+                table.add((Long) args[0]);
+            }
+            return new int[] { 1 };
+        });
+
+        // The first table read of the second load sees the table before the flush commits,
+        // and the flush runs to completion while that read is still in progress
+        AtomicInteger reads = new AtomicInteger();
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            Set<Long> snapshot = Set.copyOf(table);
+            if (reads.incrementAndGet() == 2) {
+                Thread flusher = new Thread(engine::flush);
+                flusher.start();
+                flusher.join();
+            }
+            for (Long userId : snapshot) {
+                ResultSet row = mock(ResultSet.class);
+                when(row.getLong(1)).thenReturn(userId);
+                handler.processRow(row);
+            }
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), eq(POST));
+
+        Map<Long, PostLikeSet> residents = (Map<Long, PostLikeSet>) ReflectionTestUtils.getField(engine, "residents");
+
+        // User 5 likes the post, then the resident set is evicted while the write is still queued
+        assertTrue(engine.like(POST, 5L));
+        residents.clear();
+        assertTrue(table.isEmpty());
+
+        // User 6's like loads the post again
+        assertTrue(engine.like(POST, 6L));
+
+        assertTrue(table.contains(5L));
+        assertTrue(engine.isLiked(POST, 5L));
+        assertEquals(2, residents.get(POST).size());
+    }
+}
@@ -0,0 +1,109 @@
+// backend/src/test/java/com/zerooneblog/service/PostCounterServiceTest.java
+package com.zerooneblog.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class PostCounterServiceTest {
+
+    private static PostCounterService service(JdbcTemplate jdbcTemplate) {
+        PostCounterService service = new PostCounterService();
+        ReflectionTestUtils.setField(service, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(service, "reconcileBatchSize", 1000);
+        return service;
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flushNeverLosesConcurrentIncrements() throws InterruptedException {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        AtomicLong flushed = new AtomicLong();
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            for (Object[] row : (List<Object[]>) invocation.getArgument(1)) {
+                flushed.addAndGet((Long) row[0]);
+            }
+            return new int[0];
+        });
+        PostCounterService service = service(jdbcTemplate);
+
+        int writers = 4;
+        int perWriter = 200000;
+        AtomicBoolean writing = new AtomicBoolean(true);
+        Thread flusher = new Thread(() -> {
+            while (writing.get()) {
+                service.flush();
+            }
+        });
+        flusher.start();
+        List<Thread> threads = new ArrayList<>();
+        for (int w = 0; w < writers; w++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < perWriter; i++) {
+                    service.recordLike((long) (i % 1000), 1);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        writing.set(false);
+        flusher.join();
+        service.flush();
+
+        assertEquals((long) writers * perWriter, flushed.get());
+    }
+
+    @Test
+    void recountWaitsForCountingTransactionsAndFlushesTheirDeltasFirst() throws InterruptedException {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(1L);
+        PostCounterService service = service(jdbcTemplate);
+
+        // A comment transaction that recorded its delta and has not committed yet
+        TransactionSynchronizationManager.initSynchronization();
+        Thread reconcile;
+        try {
+            service.recordComment(1L, 1);
+            reconcile = new Thread(service::reconcile);
+            reconcile.start();
+            Thread.sleep(200);
+            verify(jdbcTemplate, never()).update(anyString(), anyLong(), anyLong());
+
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCommit();
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        reconcile.join(5000);
+        assertFalse(reconcile.isAlive());
+
+        InOrder order = inOrder(jdbcTemplate);
+        order.verify(jdbcTemplate).batchUpdate(eq("UPDATE posts SET comment_count = comment_count + ? WHERE id = ?"), anyList());
+        order.verify(jdbcTemplate).update(anyString(), eq(0L), eq(1000L));
+    }
+}
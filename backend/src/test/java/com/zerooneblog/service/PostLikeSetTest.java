@@ -0,0 +1,105 @@
+// backend/src/test/java/com/zerooneblog/service/PostLikeSetTest.java
+package com.zerooneblog.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class PostLikeSetTest {
+
+    @Test
+    void addRemoveAndContains() {
+        PostLikeSet likes = new PostLikeSet();
+        assertFalse(likes.contains(42));
+        assertFalse(likes.remove(42));
+
+        assertTrue(likes.add(42));
+        assertFalse(likes.add(42));
+        assertTrue(likes.contains(42));
+        assertEquals(1, likes.size());
+
+        assertTrue(likes.remove(42));
+        assertFalse(likes.contains(42));
+        assertEquals(0, likes.size());
+    }
+
+    @Test
+    void growsPastInitialTables() {
+        PostLikeSet likes = new PostLikeSet();
+        for (long userId = 1; userId <= 100000; userId++) {
+            assertTrue(likes.add(userId));
+        }
+
+        assertEquals(100000, likes.size());
+        for (long userId = 1; userId <= 100000; userId++) {
+            assertTrue(likes.contains(userId));
+        }
+        assertFalse(likes.contains(100001));
+    }
+
+    @Test
+    void removalsKeepProbeChainsIntact() {
+        PostLikeSet likes = new PostLikeSet();
+        for (long userId = 1; userId <= 20000; userId++) {
+            likes.add(userId);
+        }
+        // Every other id leaves a hole that later ids in the same chain must be shifted over
+        for (long userId = 1; userId <= 20000; userId += 2) {
+            assertTrue(likes.remove(userId));
+        }
+
+        assertEquals(10000, likes.size());
+        for (long userId = 1; userId <= 20000; userId++) {
+            assertEquals(userId % 2 == 0, likes.contains(userId), "user " + userId);
+        }
+    }
+
+    @Test
+    void largeAndNegativeIds() {
+        PostLikeSet likes = new PostLikeSet();
+        long[] ids = { Long.MAX_VALUE, Long.MIN_VALUE, -1, 1L << 40, (1L << 40) + 1 };
+        for (long id : ids) {
+            assertTrue(likes.add(id));
+        }
+        for (long id : ids) {
+            assertTrue(likes.contains(id));
+            assertTrue(likes.remove(id));
+        }
+        assertEquals(0, likes.size());
+    }
+
+    @Test
+    void accessUpdatesLastAccess() throws InterruptedException {
+        PostLikeSet likes = new PostLikeSet();
+        long created = likes.getLastAccess();
+        Thread.sleep(5);
+        likes.contains(1);
+        assertTrue(likes.getLastAccess() > created);
+    }
+
+    @Test
+    void matchesHashSetUnderRandomOperations() {
+        Random random = new Random(1);
+        PostLikeSet likes = new PostLikeSet();
+        Set<Long> expected = new HashSet<>();
+
+        for (int i = 0; i < 500000; i++) {
+            long userId = 1 + random.nextInt(5000);
+            int operation = random.nextInt(3);
+            if (operation == 0) {
+                assertEquals(expected.add(userId), likes.add(userId));
+            } else if (operation == 1) {
+                assertEquals(expected.remove(userId), likes.remove(userId));
+            } else {
+                assertEquals(expected.contains(userId), likes.contains(userId));
+            }
+            assertEquals(expected.size(), likes.size());
+        }
+    }
+}
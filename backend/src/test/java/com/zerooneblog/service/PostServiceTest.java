@@ -0,0 +1,92 @@
+// backend/src/test/java/com/zerooneblog/service/PostServiceTest.java
+package com.zerooneblog.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.zerooneblog.dto.PostResponse;
+import com.zerooneblog.dto.SearchPage;
+import com.zerooneblog.model.Post;
+import com.zerooneblog.model.User;
+import com.zerooneblog.repository.PostRepository;
+import com.zerooneblog.repository.UserRepository;
+
+@ExtendWith(MockitoExtension.class)
+class PostServiceTest {
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private PostSearchIndex postSearchIndex;
+
+    @Mock
+    private LikeService likeService;
+
+    @Mock
+    private PostCounterService postCounterService;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private PostService postService;
+
+    private static User user(long id, User.Role role) {
+        User user = new User();
+        user.setId(id);
+        user.setRole(role);
+        return user;
+    }
+
+    // Hidden post 10 by user 2
+    private Post hiddenPost() {
+        User author = user(2L, User.Role.ROLE_USER);
+        Post post = new Post();
+        post.setId(10L);
+        post.setContent("hidden");
+        post.setAuthor(author);
+        post.setHidden(true);
+        when(postRepository.findAllById(List.of(10L))).thenReturn(List.of(post));
+        return post;
+    }
+
+    @Test
+    void adminSearchReturnsHiddenPosts() {
+        User admin = user(1L, User.Role.ROLE_ADMIN);
+        hiddenPost();
+        when(postSearchIndex.search("q", 1L, true)).thenReturn(List.of(10L));
+        when(userRepository.findAllById(anyCollection())).thenReturn(List.of(user(2L, User.Role.ROLE_USER)));
+
+        SearchPage<PostResponse> page = postService.searchPosts("q", admin, 0, 10);
+
+        assertEquals(1, page.getItems().size());
+        assertEquals(10L, page.getItems().get(0).getId());
+        assertTrue(page.getItems().get(0).isHidden());
+    }
+
+    @Test
+    void userSearchDropsOtherAuthorsHiddenPosts() {
+        User reader = user(3L, User.Role.ROLE_USER);
+        hiddenPost();
+        // The index may still hold a post hidden since it was indexed
+        when(postSearchIndex.search(eq("q"), eq(3L), anyBoolean())).thenReturn(List.of(10L));
+
+        SearchPage<PostResponse> page = postService.searchPosts("q", reader, 0, 10);
+
+        assertTrue(page.getItems().isEmpty());
+        assertEquals(1, page.getTotalHits());
+    }
+}